@@ -0,0 +1,78 @@
+package com.ecommerce.ecommerce_api.benchmark;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OrderItem;
+import com.ecommerce.ecommerce_api.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    static Category category() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Electronics");
+        category.setDescription("Electronic devices and accessories");
+        category.setCreatedAt(NOW);
+        category.setUpdatedAt(NOW);
+        return category;
+    }
+
+    static Product product(Long id, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Laptop Dell XPS 15 #" + id);
+        product.setDescription("High performance laptop");
+        product.setPrice(new BigDecimal("1500.00"));
+        product.setStock(10);
+        product.setCategory(category);
+        product.setCreatedAt(NOW);
+        product.setUpdatedAt(NOW);
+        return product;
+    }
+
+    static ProductDTO productDTO(Long id) {
+        return new ProductDTO(id, "Laptop Dell XPS 15 #" + id, "High performance laptop",
+                new BigDecimal("1500.00"), 10, 10, 1L, "Electronics", NOW, NOW);
+    }
+
+    static Order order(Long id, int items) {
+        Category category = category();
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName("Juan Pérez");
+        order.setCustomerEmail("juan@example.com");
+        order.setShippingAddress("Av. Libertador 1234, CABA, Argentina");
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setCreatedAt(NOW);
+        order.setUpdatedAt(NOW);
+
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        BigDecimal total = BigDecimal.ZERO;
+        for (long i = 1; i <= items; i++) {
+            Product product = product(i, category);
+            OrderItem item = new OrderItem();
+            item.setId(i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(2);
+            item.setUnitPrice(product.getPrice());
+            item.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(2)));
+            orderItems.add(item);
+            total = total.add(item.getSubtotal());
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalAmount(total);
+        return order;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.ecommerce_api.benchmark;
+
+import com.ecommerce.ecommerce_api.EcommerceApiApplication;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing the platform-thread and virtual-thread execution modes: 200 client
+ * threads hit GET /api/products over HTTP against the in-memory H2 database. Virtual
+ * threads are only used when the benchmark runs on Java 21 or newer; on older runtimes
+ * both modes serve from the platform pool. Admitted and rejected (503) requests are
+ * reported per iteration as auxiliary counters next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(200)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+                .properties("logging.level.root=WARN",
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(mode))
+                .run();
+
+        Category category = BenchmarkData.category();
+        category.setId(null);
+        category = context.getBean(CategoryRepository.class).save(category);
+        List<Product> products = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            Product product = BenchmarkData.product(i, category);
+            product.setId(null);
+            products.add(product);
+        }
+        context.getBean(ProductRepository.class).saveAll(products);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/products?page=0&size=20")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listProducts(Admission admission) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            admission.rejected++;
+        } else {
+            admission.admitted++;
+        }
+        return status;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Admission {
+        public long admitted;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            admitted = 0;
+            rejected = 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.ecommerce_api.benchmark;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.mapper.OrderItemMapperImpl;
+import com.ecommerce.ecommerce_api.mapper.OrderMapper;
+import com.ecommerce.ecommerce_api.mapper.OrderMapperImpl;
+import com.ecommerce.ecommerce_api.mapper.ProductMapper;
+import com.ecommerce.ecommerce_api.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "40"})
+    private int itemsPerOrder;
+
+    private AnnotationConfigApplicationContext context;
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+    private Product product;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A minimal context wires the generated mappers the same way the application does
+        context = new AnnotationConfigApplicationContext(
+                ProductMapperImpl.class, OrderMapperImpl.class, OrderItemMapperImpl.class);
+        productMapper = context.getBean(ProductMapper.class);
+        orderMapper = context.getBean(OrderMapper.class);
+
+        product = BenchmarkData.product(1L, BenchmarkData.category());
+        order = BenchmarkData.order(1L, itemsPerOrder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderMapper.toDTO(order);
+    }
+}
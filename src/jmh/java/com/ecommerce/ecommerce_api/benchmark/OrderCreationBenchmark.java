@@ -0,0 +1,85 @@
+package com.ecommerce.ecommerce_api.benchmark;
+
+import com.ecommerce.ecommerce_api.EcommerceApiApplication;
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs OrderService.createOrder end to end against the in-memory H2 database from the
+ * test configuration, as a stand-in for PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "40"})
+    private int cartLines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        Category category = BenchmarkData.category();
+        category.setId(null);
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>(cartLines);
+        for (long i = 1; i <= cartLines; i++) {
+            Product product = BenchmarkData.product(i, category);
+            product.setId(null);
+            product.setStock(Integer.MAX_VALUE);
+            product = productRepository.save(product);
+            items.add(new CreateOrderRequest.OrderItemRequest(product.getId(), 1));
+        }
+        request = new CreateOrderRequest("Juan Pérez", "juan@example.com",
+                "Av. Libertador 1234, CABA, Argentina", items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+}
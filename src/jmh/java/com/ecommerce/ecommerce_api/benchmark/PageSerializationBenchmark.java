@@ -0,0 +1,54 @@
+package com.ecommerce.ecommerce_api.benchmark;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+    private Page<ProductDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        List<ProductDTO> products = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            products.add(BenchmarkData.productDTO(i));
+        }
+        page = new PageImpl<>(products, PageRequest.of(0, pageSize), 1_000_000);
+    }
+
+    @Benchmark
+    public byte[] serializeProductPage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// The cache interceptor runs outside the transaction interceptor so that
+// cache hits never open a transaction or borrow a connection.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+}
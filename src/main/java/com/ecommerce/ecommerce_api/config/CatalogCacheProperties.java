@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cache-Control for catalog reads. Browsers keep a response for {@code maxAge}; shared
+ * caches such as a CDN for {@code sharedMaxAge}, and may keep serving it for another
+ * {@code staleWhileRevalidate} while they revalidate with the ETag in the background.
+ */
+@ConfigurationProperties("app.http.catalog-cache")
+public record CatalogCacheProperties(
+        @DefaultValue("30s") Duration maxAge,
+        @DefaultValue("60s") Duration sharedMaxAge,
+        @DefaultValue("30s") Duration staleWhileRevalidate) {
+}
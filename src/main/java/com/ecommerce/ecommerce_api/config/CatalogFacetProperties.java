@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Facets returned with filtered catalog pages. {@code priceBounds} splits catalog prices
+ * into the buckets reported as price facets. The bounds are sorted and de-duplicated by
+ * value, since a product lands in the first bucket whose bound exceeds its price.
+ */
+@ConfigurationProperties("app.catalog.facets")
+public record CatalogFacetProperties(
+        @DefaultValue({"25", "50", "100", "250", "500"}) List<BigDecimal> priceBounds) {
+
+    public CatalogFacetProperties {
+        priceBounds = List.copyOf(new TreeSet<>(priceBounds));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.ecommerce_api.config;
+
+import com.ecommerce.ecommerce_api.web.DbAdmissionFilter;
+import com.ecommerce.ecommerce_api.web.DbAdmissionLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Works the same on platform and virtual threads (spring.threads.virtual.enabled); with
+// virtual threads this limit, not the Tomcat pool, is what bounds database concurrency.
+@Configuration
+@EnableConfigurationProperties(DbAdmissionProperties.class)
+@ConditionalOnProperty(prefix = "app.db-admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbAdmissionConfig {
+
+    @Bean
+    public DbAdmissionLimiter dbAdmissionLimiter(DbAdmissionProperties properties, DataSource dataSource) {
+        int maxConcurrent = properties.maxConcurrent() != null
+                ? properties.maxConcurrent()
+                : connectionPoolSize(dataSource);
+        return new DbAdmissionLimiter(maxConcurrent, properties.queueTimeout());
+    }
+
+    @Bean
+    public FilterRegistrationBean<DbAdmissionFilter> dbAdmissionFilter(DbAdmissionLimiter limiter,
+                                                                       ObjectMapper objectMapper) {
+        FilterRegistrationBean<DbAdmissionFilter> registration =
+                new FilterRegistrationBean<>(new DbAdmissionFilter(limiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder dbAdmissionMetrics(DbAdmissionLimiter limiter) {
+        return registry -> {
+            Gauge.builder("db.admission.limit", limiter, DbAdmissionLimiter::getMaxConcurrent)
+                    .description("Maximum concurrently admitted requests")
+                    .register(registry);
+            Gauge.builder("db.admission.active", limiter, DbAdmissionLimiter::getActive)
+                    .description("Requests currently holding a permit")
+                    .register(registry);
+            Gauge.builder("db.admission.queued", limiter, DbAdmissionLimiter::getQueued)
+                    .description("Requests waiting for a permit")
+                    .register(registry);
+            FunctionCounter.builder("db.admission.admitted", limiter, DbAdmissionLimiter::getAdmitted)
+                    .description("Requests admitted")
+                    .register(registry);
+            FunctionCounter.builder("db.admission.rejected", limiter, DbAdmissionLimiter::getRejected)
+                    .description("Requests rejected after the queue timeout")
+                    .register(registry);
+        };
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ignored) {
+            // fall through to Hikari's default
+        }
+        return 10;
+    }
+}
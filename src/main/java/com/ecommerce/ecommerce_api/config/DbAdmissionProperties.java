@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Admission control in front of the API. When {@code maxConcurrent} is not set the limit
+ * follows the Hikari pool size, so every admitted request can get a connection.
+ */
+@ConfigurationProperties("app.db-admission")
+public record DbAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        Integer maxConcurrent,
+        @DefaultValue("2s") Duration queueTimeout) {
+}
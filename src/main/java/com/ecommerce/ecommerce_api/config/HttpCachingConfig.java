@@ -0,0 +1,19 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+@Configuration
+@EnableConfigurationProperties(CatalogCacheProperties.class)
+public class HttpCachingConfig {
+
+    @Bean
+    public CacheControl catalogCacheControl(CatalogCacheProperties properties) {
+        return CacheControl.maxAge(properties.maxAge())
+                .sMaxAge(properties.sharedMaxAge())
+                .staleWhileRevalidate(properties.staleWhileRevalidate())
+                .cachePublic();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key handling for order creation. Stored responses are replayed for
+ * {@code ttl} and then purged; the most recent {@code cacheSize} are also kept in memory
+ * for {@code cacheTtl}, so a retry storm is answered without a query. A duplicate that
+ * arrives while the first request is still running waits up to {@code waitTimeout}.
+ */
+@ConfigurationProperties("app.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") long cacheSize,
+        @DefaultValue("10m") Duration cacheTtl,
+        @DefaultValue("30s") Duration waitTimeout) {
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Low-stock watcher. Products changed by committed writes are re-checked against their
+ * reorder threshold every {@code refreshInterval}; dashboard streams are closed after
+ * {@code emitterTimeout} and reconnect on their own.
+ */
+@ConfigurationProperties("app.inventory.low-stock")
+public record LowStockProperties(
+        @DefaultValue("1s") Duration refreshInterval,
+        @DefaultValue("30m") Duration emitterTimeout) {
+}
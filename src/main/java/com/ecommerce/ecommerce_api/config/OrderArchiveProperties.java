@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Order archival. Settled orders older than {@code retention} are moved to the archive
+ * tables, {@code batchSize} orders per transaction. On PostgreSQL the monthly archive
+ * partitions are created in {@code tablespace} when set, e.g. one on cheaper storage.
+ * <p>
+ * Off by default: archived orders leave order listings, customer order history and the
+ * full-history export, so enable it only where those may be limited to the retention window.
+ */
+@ConfigurationProperties("app.orders.archive")
+public record OrderArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("90d") Duration retention,
+        @DefaultValue("500") int batchSize,
+        String tablespace) {
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Order event outbox publisher. Each poll claims up to {@code batchSize} events and keeps
+ * polling while batches come back full, at most {@code maxBatchesPerPoll} times, so a
+ * backlog drains quickly without starving the connection pool. Claimed events are leased
+ * for {@code claimTimeout}: no other instance picks them up unless delivery has not been
+ * recorded by then. Failed events are retried with exponential backoff and parked as
+ * FAILED after {@code maxAttempts}.
+ */
+@ConfigurationProperties("app.outbox")
+public record OutboxProperties(
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("10") int maxBatchesPerPoll,
+        @DefaultValue("1m") Duration claimTimeout,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("1s") Duration initialBackoff,
+        @DefaultValue("5m") Duration maxBackoff,
+        @DefaultValue("7d") Duration retention) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QuoteProperties.class)
+public class QuoteConfig {
+}
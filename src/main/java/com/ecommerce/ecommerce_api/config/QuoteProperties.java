@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cart quote micro-batching. Product lookups from concurrent quotes are collected for up
+ * to {@code batchWindow} and answered by one query; a batch is sent early once it names
+ * {@code maxBatchSize} products. Batches are queried on up to {@code lookupThreads}
+ * threads, so one slow query does not hold up the batches behind it. A quote gives up
+ * after {@code timeout}.
+ */
+@ConfigurationProperties("app.quote")
+public record QuoteProperties(
+        @DefaultValue("5ms") Duration batchWindow,
+        @DefaultValue("500") int maxBatchSize,
+        @DefaultValue("4") int lookupThreads,
+        @DefaultValue("5s") Duration timeout) {
+}
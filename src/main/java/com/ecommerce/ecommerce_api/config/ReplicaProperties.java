@@ -0,0 +1,29 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas behind {@code @Transactional(readOnly = true)}. Replicas share the
+ * primary's driver and, unless set here, its credentials. A replica whose lag, as returned
+ * by {@code lagQuery} in seconds, exceeds {@code maxLag} gets no reads until it catches
+ * up. A client that wrote reads from the primary for {@code readYourWritesWindow}.
+ */
+@ConfigurationProperties("app.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue(DEFAULT_LAG_QUERY) String lagQuery) {
+
+    // Zero when caught up: an idle primary would otherwise look like a growing replay delay
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
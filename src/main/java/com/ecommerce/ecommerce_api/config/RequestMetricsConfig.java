@@ -0,0 +1,66 @@
+package com.ecommerce.ecommerce_api.config;
+
+import com.ecommerce.ecommerce_api.web.QueryCountingJdbcTemplate;
+import com.ecommerce.ecommerce_api.web.QueryCountingStatistics;
+import com.ecommerce.ecommerce_api.web.RequestMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.JdbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+// Hibernate statistics must be on for the per-request counts; they replace show-sql as
+// the way to see what a request does to the database. The JdbcTemplate bean replaces Boot's
+// so statements issued through it are counted too.
+@Configuration
+@EnableConfigurationProperties({RequestMetricsProperties.class, JdbcProperties.class})
+@ConditionalOnProperty(prefix = "app.request-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final RequestMetricsProperties properties;
+
+    public RequestMetricsConfig(MeterRegistry meterRegistry, RequestMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatistics() {
+        return hibernateProperties -> {
+            hibernateProperties.put(StatisticsSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(StatisticsSettings.STATS_BUILDER, (StatisticsFactory) QueryCountingStatistics::new);
+        };
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource, JdbcProperties jdbcProperties) {
+        JdbcProperties.Template template = jdbcProperties.getTemplate();
+        JdbcTemplate jdbcTemplate = new QueryCountingJdbcTemplate(dataSource);
+        jdbcTemplate.setIgnoreWarnings(template.isIgnoreWarnings());
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        jdbcTemplate.setSkipResultsProcessing(template.isSkipResultsProcessing());
+        jdbcTemplate.setSkipUndeclaredResults(template.isSkipUndeclaredResults());
+        jdbcTemplate.setResultsMapCaseInsensitive(template.isResultsMapCaseInsensitive());
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, properties))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-controller-method request metrics. Latency always publishes histogram buckets;
+ * {@code percentiles}, if set, are also computed on each instance for latency and the
+ * per-request query counts. A request preparing more than {@code nPlusOneThreshold} SQL
+ * statements is flagged as a likely N+1.
+ */
+@ConfigurationProperties("app.request-metrics")
+public record RequestMetricsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int nPlusOneThreshold,
+        double[] percentiles) {
+
+    public RequestMetricsProperties {
+        percentiles = percentiles == null ? new double[0] : percentiles;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Product full-text search. {@code postgres} queries a generated {@code tsvector} column
+ * through a GIN index; {@code memory} keeps an inverted index in this JVM for tests and
+ * databases without text search. Paging stops after the best {@code maxResults} matches,
+ * which bounds the sort behind very broad terms and deep cursors.
+ */
+@ConfigurationProperties("app.search")
+public record SearchProperties(
+        @DefaultValue("postgres") Engine engine,
+        @DefaultValue("english") String language,
+        @DefaultValue("1000") int maxResults,
+        @DefaultValue("100") int maxPageSize) {
+
+    public enum Engine {
+        POSTGRES, MEMORY
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Striped inventory for hot products. While disabled, products cannot be striped; those
+ * striped earlier keep reading and reserving from their buckets until unstriped.
+ */
+@ConfigurationProperties("app.inventory.striping")
+public record StockStripingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int defaultBuckets,
+        @DefaultValue("64") int maxBuckets) {
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retries of optimistic-lock conflicts. A write runs at most {@code maxAttempts} times;
+ * before retry {@code n} it sleeps a random time up to
+ * {@code min(maxBackoff, initialBackoff * 2^(n-1))} (full jitter), so writers that
+ * collided once do not collide again in lockstep.
+ */
+@ConfigurationProperties("app.write-retry")
+public record WriteRetryProperties(
+        @DefaultValue("4") int maxAttempts,
+        @DefaultValue("10ms") Duration initialBackoff,
+        @DefaultValue("200ms") Duration maxBackoff) {
+}
@@ -1,12 +1,17 @@
 package com.ecommerce.ecommerce_api.controller;
 
 import com.ecommerce.ecommerce_api.dto.CategoryDTO;
+import com.ecommerce.ecommerce_api.dto.ResourceVersion;
 import com.ecommerce.ecommerce_api.service.CategoryService;
+import com.ecommerce.ecommerce_api.service.CategorySnapshotCache;
+import com.ecommerce.ecommerce_api.web.ConditionalResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,15 +21,22 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CacheControl catalogCacheControl;
 
     @GetMapping
     public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+        CategorySnapshotCache.Snapshot snapshot = categoryService.getCategorySnapshot();
+        return ResponseEntity.ok()
+                .cacheControl(catalogCacheControl)
+                .eTag(snapshot.etag())
+                .body(snapshot.categories());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id, WebRequest request) {
+        CategoryDTO category = categoryService.getCategoryById(id);
+        return ConditionalResponses.ifModified(request, ResourceVersion.of(category), catalogCacheControl,
+                () -> category);
     }
 
     @PostMapping
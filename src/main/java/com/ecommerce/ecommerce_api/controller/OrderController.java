@@ -1,8 +1,14 @@
 package com.ecommerce.ecommerce_api.controller;
 
+import com.ecommerce.ecommerce_api.dto.BulkStatusUpdateRequest;
+import com.ecommerce.ecommerce_api.dto.BulkStatusUpdateResult;
 import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
 import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.OrderExportFormat;
 import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.service.OrderExportService;
+import com.ecommerce.ecommerce_api.service.OrderIdempotencyService;
 import com.ecommerce.ecommerce_api.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,16 +16,28 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderIdempotencyService orderIdempotencyService;
 
     @GetMapping
     public ResponseEntity<Page<OrderDTO>> getAllOrders(
@@ -48,15 +66,55 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OrderDTO>> scrollOrders(
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(orderService.scrollOrders(status, customerEmail, cursor, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        MediaType contentType = format == OrderExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String filename = "orders." + format.name().toLowerCase();
+
+        StreamingResponseBody body = outputStream ->
+                orderExportService.exportOrders(status, from, to, format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrderById(id));
     }
 
     @PostMapping
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        OrderDTO created = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<OrderDTO> createOrder(
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            OrderDTO created = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+
+        // A replay answers exactly like the original request did
+        OrderIdempotencyService.Result result = orderIdempotencyService.createOrder(idempotencyKey, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
     }
 
     @PatchMapping("/{id}/status")
@@ -66,6 +124,12 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResult> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.bulkUpdateStatus(request.getOrderIds(), request.getStatus()));
+    }
+
     @PostMapping("/{id}/cancel")
     public ResponseEntity<Void> cancelOrder(@PathVariable Long id) {
         orderService.cancelOrder(id);
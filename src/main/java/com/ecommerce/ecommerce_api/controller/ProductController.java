@@ -1,19 +1,42 @@
 package com.ecommerce.ecommerce_api.controller;
 
+import com.ecommerce.ecommerce_api.dto.BulkImportResult;
+import com.ecommerce.ecommerce_api.dto.CartQuote;
+import com.ecommerce.ecommerce_api.dto.CartQuoteRequest;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.FacetedProductPage;
 import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+import com.ecommerce.ecommerce_api.dto.ProductSearchResult;
+import com.ecommerce.ecommerce_api.dto.ResourceVersion;
+import com.ecommerce.ecommerce_api.service.CartQuoteService;
+import com.ecommerce.ecommerce_api.service.LowStockWatcher;
+import com.ecommerce.ecommerce_api.service.ProductImportReaders;
+import com.ecommerce.ecommerce_api.service.ProductImportService;
+import com.ecommerce.ecommerce_api.service.ProductSearchService;
 import com.ecommerce.ecommerce_api.service.ProductService;
+import com.ecommerce.ecommerce_api.web.ConditionalResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -21,52 +44,121 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductSearchService productSearchService;
+    private final LowStockWatcher lowStockWatcher;
+    private final CartQuoteService cartQuoteService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl catalogCacheControl;
 
     @GetMapping
     public ResponseEntity<Page<ProductDTO>> getAllProducts(
-            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> categoryId,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
+            @RequestParam(defaultValue = "ASC") String direction,
+            WebRequest request) {
 
-        Sort sort = direction.equalsIgnoreCase("DESC")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        ProductFilter filter = new ProductFilter(categoryId, minPrice, maxPrice, inStock, namePrefix, createdAfter);
+        return ConditionalResponses.ifModified(request, productService.getCatalogVersion(), catalogCacheControl,
+                () -> productService.filterProducts(filter, pageRequest(page, size, sortBy, direction)));
+    }
 
-        Page<ProductDTO> products;
+    @GetMapping("/filter")
+    public ResponseEntity<FacetedProductPage> filterProducts(
+            @RequestParam(required = false) Set<Long> categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction) {
 
-        if (categoryId != null) {
-            products = productService.getProductsByCategory(categoryId, pageable);
-        } else if (minPrice != null && maxPrice != null) {
-            products = productService.getProductsByPriceRange(minPrice, maxPrice, pageable);
-        } else {
-            products = productService.getAllProducts(pageable);
-        }
+        ProductFilter filter = new ProductFilter(categoryId, minPrice, maxPrice, inStock, namePrefix, createdAfter);
+        return ResponseEntity.ok(productService.filterProductsWithFacets(filter, pageRequest(page, size, sortBy, direction)));
+    }
 
-        return ResponseEntity.ok(products);
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ProductDTO>> scrollProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(productService.scrollProducts(categoryId, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ProductSearchResult>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(productSearchService.search(q, categoryId, minPrice, maxPrice, cursor, size));
     }
 
+    // Served from the product cache, so a revalidation costs no query and no serialization
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest request) {
+        ProductDTO product = productService.getProductById(id);
+        return ConditionalResponses.ifModified(request, ResourceVersion.of(product), catalogCacheControl,
+                () -> product);
+    }
+
+    @PostMapping("/{id}/stock/stripe")
+    public ResponseEntity<ProductDTO> stripeStock(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer buckets) {
+        return ResponseEntity.ok(productService.stripeStock(id, buckets));
+    }
+
+    @DeleteMapping("/{id}/stock/stripe")
+    public ResponseEntity<ProductDTO> unstripeStock(@PathVariable Long id) {
+        return ResponseEntity.ok(productService.unstripeStock(id));
     }
 
     @GetMapping("/low-stock")
     public ResponseEntity<List<ProductDTO>> getLowStockProducts(
-            @RequestParam(defaultValue = "10") Integer threshold) {
+            @RequestParam(required = false) Integer threshold) {
         return ResponseEntity.ok(productService.getLowStockProducts(threshold));
     }
 
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockProducts() {
+        return lowStockWatcher.subscribe();
+    }
+
+    // Prices a whole cart in one call instead of one product read per line
+    @PostMapping("/quote")
+    public ResponseEntity<CartQuote> quoteCart(@Valid @RequestBody CartQuoteRequest request) {
+        return ResponseEntity.ok(cartQuoteService.quote(request.getItems()));
+    }
+
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO) {
         ProductDTO created = productService.createProduct(productDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importProductsFromJson(InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(ProductImportReaders.json(body, objectMapper)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResult> importProductsFromCsv(InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(ProductImportReaders.csv(body)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable Long id,
@@ -79,4 +171,11 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static Pageable pageRequest(int page, int size, String sortBy, String direction) {
+        Sort sort = direction.equalsIgnoreCase("DESC")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+        return PageRequest.of(page, size, sort);
+    }
 }
\ No newline at end of file
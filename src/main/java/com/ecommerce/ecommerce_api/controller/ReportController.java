@@ -0,0 +1,52 @@
+package com.ecommerce.ecommerce_api.controller;
+
+import com.ecommerce.ecommerce_api.dto.CategorySalesDTO;
+import com.ecommerce.ecommerce_api.dto.DailySalesDTO;
+import com.ecommerce.ecommerce_api.dto.ProductSalesDTO;
+import com.ecommerce.ecommerce_api.dto.SalesRebuildStatus;
+import com.ecommerce.ecommerce_api.service.SalesAggregateRebuildService;
+import com.ecommerce.ecommerce_api.service.SalesReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports/sales")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+    private final SalesAggregateRebuildService rebuildService;
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesDTO>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesReportService.getDailyRevenue(from, to));
+    }
+
+    @GetMapping("/top-products")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(salesReportService.getTopProducts(limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> getRevenueByCategory() {
+        return ResponseEntity.ok(salesReportService.getRevenueByCategory());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<SalesRebuildStatus> rebuild(@RequestParam(defaultValue = "false") boolean reset) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.start(reset));
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<SalesRebuildStatus> getRebuildStatus() {
+        return ResponseEntity.ok(rebuildService.getStatus());
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.ecommerce_api.datasource;
+
+/**
+ * Per-thread override for read-only routing. While a {@link Pin} is open, read-only
+ * transactions on this thread are served by the primary instead of a replica.
+ * <p>
+ * The routing decision is made when a transaction first touches the database, so a pin
+ * opened inside a read-only transaction still applies to it. Without replicas configured
+ * pins have no effect.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Routes this thread's reads to the primary until the returned pin is closed. Use it
+     * for requests that must see their client's own writes, and for caches and indexes
+     * refreshed because a commit changed their rows: the refresh runs right after that
+     * commit, and a lagging replica would serve the rows as they were before it.
+     */
+    public static Pin pinToPrimary() {
+        Pin pin = new Pin(PRIMARY.get());
+        PRIMARY.set(true);
+        return pin;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY.get();
+    }
+
+    public static final class Pin implements AutoCloseable {
+
+        private final boolean previous;
+
+        private Pin(boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous) {
+                PRIMARY.set(true);
+            } else {
+                PRIMARY.remove();
+            }
+        }
+    }
+}
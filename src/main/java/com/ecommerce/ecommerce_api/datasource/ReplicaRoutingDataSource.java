@@ -0,0 +1,140 @@
+package com.ecommerce.ecommerce_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing data source. Connections are spread round-robin over the
+ * replicas whose last measured lag is within {@code maxLag}; when none qualifies, or the
+ * thread is pinned by {@link ReadRouting}, the primary serves the read instead. Lag is
+ * measured in the background every {@code app.datasource.replica.lag-check-interval}, so
+ * routing never waits on a replica; an unreachable replica counts as infinitely behind.
+ * <p>
+ * Metrics: {@code datasource.replica.lag} (seconds, per replica) and
+ * {@code datasource.reads} tagged with the {@code target} and the {@code reason}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Counter pinnedReads;
+    private final Counter laggingReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag,
+                                    String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.replicas = replicaPools.stream()
+                .map(pool -> new Replica(pool, lagQuery, meterRegistry))
+                .toList();
+        this.pinnedReads = reads(meterRegistry, "primary", "read-your-writes");
+        this.laggingReads = reads(meterRegistry, "primary", "replica-lag");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:2s}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            double lag = replica.measureLag();
+            boolean wasUsable = replica.lagSeconds <= maxLagSeconds;
+            boolean usable = lag <= maxLagSeconds;
+            replica.lagSeconds = lag;
+            if (wasUsable && !usable) {
+                log.warn("Replica {} is {} s behind, reads fall back to the primary", replica.name, lag);
+            } else if (!wasUsable && usable) {
+                log.info("Replica {} caught up ({} s behind), serving reads", replica.name, lag);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private DataSource route() {
+        if (ReadRouting.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return primary;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.lagSeconds <= maxLagSeconds) {
+                replica.reads.increment();
+                return replica.dataSource;
+            }
+        }
+        laggingReads.increment();
+        return primary;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Read-only connections handed out, by target")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final String lagQuery;
+        private final Counter reads;
+        // Unknown until the first check, so no reads arrive before it
+        private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+        private Replica(HikariDataSource dataSource, String lagQuery, MeterRegistry meterRegistry) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.lagQuery = lagQuery;
+            this.reads = reads(meterRegistry, name, "replica");
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .description("Last measured replication lag")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        private double measureLag() {
+            try {
+                Double lag = jdbcTemplate.queryForObject(lagQuery, Double.class);
+                return lag != null ? lag : Double.POSITIVE_INFINITY;
+            } catch (DataAccessException ex) {
+                log.debug("Lag check on replica {} failed", name, ex);
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 10000, message = "At most 10000 orders can be updated at once")
+    private Set<Long> orderIds;
+
+    @NotNull(message = "Status is required")
+    private Order.OrderStatus status;
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+    private Order.OrderStatus status;
+    private int updated;
+    private int failed;
+    private List<OrderResult> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderResult {
+        private Long orderId;
+        private Outcome outcome;
+        private Order.OrderStatus previousStatus;
+        private String message;
+    }
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_TRANSITION
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartQuote {
+    private List<Line> lines = new ArrayList<>();
+    private BigDecimal total = BigDecimal.ZERO;
+    private boolean available;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long productId;
+        private String productName;
+        private int quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal subtotal;
+        private Integer availableStock;
+        private Availability availability;
+    }
+
+    public enum Availability {
+        AVAILABLE,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartQuoteRequest {
+
+    @NotEmpty(message = "Quote must contain at least one item")
+    @Size(max = 200, message = "Quote cannot contain more than 200 items")
+    @Valid
+    private List<CreateOrderRequest.OrderItemRequest> items;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDTO {
+    private Long categoryId;
+    private String categoryName;
+    private Long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesDTO {
+    private LocalDate day;
+    private Long orders;
+    private Long units;
+    private BigDecimal revenue;
+}
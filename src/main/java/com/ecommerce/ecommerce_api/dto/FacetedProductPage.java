@@ -0,0 +1,46 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of filtered products plus facet counts. Each facet ignores its own filter, so
+ * the category counts show how many products every category would add to the current
+ * price range and vice versa.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedProductPage {
+    private List<ProductDTO> content = new ArrayList<>();
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private List<CategoryFacet> categories = new ArrayList<>();
+    private List<PriceFacet> prices = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private Long categoryId;
+        private String categoryName;
+        private long count;
+    }
+
+    // Bucket bounds are inclusive below and exclusive above; null means unbounded
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceFacet {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+    }
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.ecommerce_api.dto;
+
+public enum OrderExportFormat {
+    NDJSON,
+    CSV
+}
@@ -29,6 +29,9 @@ public class ProductDTO {
     @Min(value = 0, message = "Stock cannot be negative")
     private Integer stock;
 
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
     @NotNull(message = "Category ID is required")
     private Long categoryId;
 
@@ -0,0 +1,37 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Catalog filter; every criterion is optional and all given criteria must hold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+    private Set<Long> categoryIds;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private boolean inStock;
+    private String namePrefix;
+    private LocalDateTime createdAfter;
+
+    public boolean isUnrestricted() {
+        return !hasCategories() && !hasPriceRange() && !inStock
+                && (namePrefix == null || namePrefix.isBlank()) && createdAfter == null;
+    }
+
+    public boolean hasCategories() {
+        return categoryIds != null && !categoryIds.isEmpty();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResult {
+    private ProductDTO product;
+    private double rank;
+
+    // Product text with matched terms wrapped in <mark></mark>; not HTML-escaped
+    private String highlightedName;
+    private String highlightedDescription;
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET: a strong ETag over everything the representation
+ * is built from, and the time it last changed.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Object part : parts) {
+            fingerprint.append(part).append('|');
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        Instant modified = lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+        return new ResourceVersion(etag, modified);
+    }
+
+    public static ResourceVersion of(ProductDTO product) {
+        return of(product.getUpdatedAt(), product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getCategoryId(), product.getCategoryName(),
+                product.getCreatedAt(), product.getUpdatedAt());
+    }
+
+    public static ResourceVersion of(CategoryDTO category) {
+        return of(category.getUpdatedAt(), category.getId(), category.getName(), category.getDescription(),
+                category.getCreatedAt(), category.getUpdatedAt());
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.ecommerce_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRebuildStatus {
+    private boolean running;
+    private long processedOrders;
+    private long adjustedOrders;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
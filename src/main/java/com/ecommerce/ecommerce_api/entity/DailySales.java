@@ -0,0 +1,29 @@
+package com.ecommerce.ecommerce_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "sales_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySales {
+
+    @Id
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
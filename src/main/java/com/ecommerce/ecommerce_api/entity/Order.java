@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -50,6 +51,17 @@ public class Order {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Whether the order is reflected in the sales aggregates; written only by OrderSalesRepository
+    @ColumnDefault("false")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean salesCounted;
+
+    // Optimistic lock; bulk status updates bump it in their UPDATE statement
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public enum OrderStatus {
         PENDING,
         PROCESSING,
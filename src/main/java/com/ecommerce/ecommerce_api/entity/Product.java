@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,14 +14,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+// Filter indexes: category with price range (and facet grouping), and creation date;
+// updated_at serves the catalog version behind conditional list requests
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category_id, price"),
+        @Index(name = "idx_products_created_at", columnList = "created_at"),
+        @Index(name = "idx_products_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    public static final int DEFAULT_REORDER_THRESHOLD = 10;
+
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -35,6 +46,11 @@ public class Product {
     @Column(nullable = false)
     private Integer stock;
 
+    // Reorder point: the product is reported as low on stock once its available stock drops below it
+    @ColumnDefault("10")
+    @Column(name = "reorder_threshold", nullable = false)
+    private Integer reorderThreshold = DEFAULT_REORDER_THRESHOLD;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -42,6 +58,12 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    // Optimistic lock; the JDBC stock updates in ProductStockRepository bump it as well
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
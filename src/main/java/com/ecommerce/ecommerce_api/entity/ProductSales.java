@@ -0,0 +1,26 @@
+package com.ecommerce.ecommerce_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "sales_by_product", indexes = @Index(name = "idx_sales_by_product_units", columnList = "units"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSales {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
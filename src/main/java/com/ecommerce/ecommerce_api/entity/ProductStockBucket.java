@@ -0,0 +1,49 @@
+package com.ecommerce.ecommerce_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * One stripe of a hot product's stock. A striped product keeps its stock spread over
+ * several bucket rows so concurrent reservations lock different rows; its available
+ * stock is {@code products.stock} plus the sum of its buckets.
+ */
+@Entity
+@Table(name = "product_stock_buckets")
+@IdClass(ProductStockBucket.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockBucket {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "bucket_no")
+    private Integer bucketNo;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    // Buckets are written through ProductStockRepository; the database drops them with the product
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer bucketNo;
+    }
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.ecommerce_api.event;
+
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.ecommerce_api.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderCreatedEvent(Long orderId, String customerName, String customerEmail,
+                                BigDecimal totalAmount, List<Line> items, LocalDateTime createdAt) {
+
+    public record Line(Long productId, Integer quantity, BigDecimal unitPrice) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.ecommerce_api.event;
+
+import com.ecommerce.ecommerce_api.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox entry as handed to {@link OrderEventSink}s. The payload is the JSON form of
+ * {@link OrderCreatedEvent} or {@link OrderStatusChangedEvent}, depending on the type.
+ */
+public record OrderEventMessage(Long eventId, Long orderId, OutboxEvent.OrderEventType type,
+                                String payload, LocalDateTime occurredAt) {
+}
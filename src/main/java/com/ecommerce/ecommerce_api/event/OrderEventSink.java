@@ -0,0 +1,16 @@
+package com.ecommerce.ecommerce_api.event;
+
+import java.util.List;
+
+/**
+ * Downstream consumer of order events (emails, analytics, fulfilment). Sinks run on the
+ * outbox publisher thread with no transaction open, never inside checkout. Delivery is
+ * at least once: a batch is redelivered to every sink if any sink throws.
+ */
+public interface OrderEventSink {
+
+    /**
+     * Receives events in outbox order; events of the same order never share a batch.
+     */
+    void deliver(List<OrderEventMessage> events) throws Exception;
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.ecommerce_api.event;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+
+import java.time.LocalDateTime;
+
+public record OrderStatusChangedEvent(Long orderId, Order.OrderStatus previousStatus,
+                                      Order.OrderStatus newStatus, LocalDateTime changedAt) {
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.ecommerce_api.event;
+
+import java.util.Collection;
+
+public record ProductChangedEvent(Collection<Long> productIds) {
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.ecommerce_api.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
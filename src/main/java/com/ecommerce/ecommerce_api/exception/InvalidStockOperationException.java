@@ -0,0 +1,7 @@
+package com.ecommerce.ecommerce_api.exception;
+
+public class InvalidStockOperationException extends RuntimeException {
+    public InvalidStockOperationException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,7 @@ import com.ecommerce.ecommerce_api.dto.OrderDTO;
 import com.ecommerce.ecommerce_api.entity.Order;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -13,7 +14,13 @@ public interface OrderMapper {
     @Mapping(source = "orderItems", target = "items")
     OrderDTO toDTO(Order order);
 
+    @Named("withoutItems")
+    @Mapping(target = "items", ignore = true)
+    OrderDTO toDTOWithoutItems(Order order);
+
     @Mapping(source = "items", target = "orderItems")
+    @Mapping(target = "salesCounted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Order toEntity(OrderDTO orderDTO);
 
     List<OrderDTO> toDTOList(List<Order> orders);
@@ -5,6 +5,7 @@ import com.ecommerce.ecommerce_api.entity.Product;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
 
@@ -17,6 +18,8 @@ public interface ProductMapper {
 
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "reorderThreshold", conditionExpression = "java(productDTO.getReorderThreshold() != null)")
     Product toEntity(ProductDTO productDTO);
 
     List<ProductDTO> toDTOList(List<Product> products);
@@ -24,7 +27,9 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "reorderThreshold", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(ProductDTO dto, @MappingTarget Product product);
 }
\ No newline at end of file
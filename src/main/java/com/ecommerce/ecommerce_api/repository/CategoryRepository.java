@@ -2,12 +2,20 @@ package com.ecommerce.ecommerce_api.repository;
 
 import com.ecommerce.ecommerce_api.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     boolean existsByName(String name);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.updatedAt = :now WHERE c.id = :id")
+    void touch(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
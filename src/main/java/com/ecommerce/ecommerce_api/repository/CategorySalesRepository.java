@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.CategorySalesDTO;
+import com.ecommerce.ecommerce_api.entity.CategorySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategorySalesRepository extends JpaRepository<CategorySales, Long> {
+
+    @Query("SELECT new com.ecommerce.ecommerce_api.dto.CategorySalesDTO(s.categoryId, c.name, s.units, s.revenue) " +
+            "FROM CategorySales s LEFT JOIN Category c ON c.id = s.categoryId " +
+            "ORDER BY s.revenue DESC, s.categoryId")
+    List<CategorySalesDTO> findAllDTOs();
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.DailySalesDTO;
+import com.ecommerce.ecommerce_api.entity.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    @Query("SELECT new com.ecommerce.ecommerce_api.dto.DailySalesDTO(d.salesDate, d.orderCount, d.units, d.revenue) " +
+            "FROM DailySales d WHERE d.salesDate BETWEEN :from AND :to ORDER BY d.salesDate")
+    List<DailySalesDTO> findDTOsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
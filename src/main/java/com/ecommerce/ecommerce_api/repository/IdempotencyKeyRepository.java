@@ -0,0 +1,36 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // A plain INSERT, not a merge: a concurrent claim of the same key blocks on the primary
+    // key until the first transaction ends, then fails with a duplicate key violation
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (key_hash, request_hash, created_at, expires_at) " +
+            "VALUES (:keyHash, :requestHash, :now, :expiresAt)", nativeQuery = true)
+    void claim(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash,
+               @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET order_id = :orderId, response_body = :responseBody " +
+            "WHERE key_hash = :keyHash", nativeQuery = true)
+    void complete(@Param("keyHash") String keyHash, @Param("orderId") Long orderId,
+                  @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyHash = :keyHash AND k.expiresAt <= :now")
+    int deleteIfExpired(@Param("keyHash") String keyHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+public interface OrderArchiveRepository {
+
+    /**
+     * Adds the {@code orders_archive} and {@code order_items_archive} partitions for one
+     * month (PostgreSQL), packed full since archived rows are never updated, in
+     * {@code tablespace} when given.
+     */
+    void createArchivePartition(YearMonth month, String tablespace);
+
+    /**
+     * Creation time of the oldest order that {@link #archiveOrders} would move.
+     */
+    Optional<LocalDateTime> findOldestArchivable(LocalDateTime createdBefore);
+
+    /**
+     * Moves up to {@code limit} settled orders created before {@code createdBefore}, with
+     * their items, from the live tables into the archive. An order is settled when it is
+     * DELIVERED or CANCELLED and the sales aggregates already reflect it. Orders locked by
+     * another transaction are skipped.
+     *
+     * @return the number of orders moved
+     */
+    int archiveOrders(LocalDateTime createdBefore, int limit, LocalDateTime archivedAt);
+
+    Optional<OrderDTO> findArchivedOrder(Long id);
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.OrderItemDTO;
+import com.ecommerce.ecommerce_api.entity.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    // Only orders whose sales contribution is final, so the aggregates never need them again
+    private static final String SETTLED =
+            "((status = 'DELIVERED' AND sales_counted = TRUE) OR (status = 'CANCELLED' AND sales_counted = FALSE))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createArchivePartition(YearMonth month, String tablespace) {
+        String bounds = " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')" +
+                " WITH (fillfactor = 100)" + (tablespace != null ? " TABLESPACE " + tablespace : "");
+        String suffix = String.format("_y%04dm%02d", month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders_archive" + suffix +
+                " PARTITION OF orders_archive" + bounds);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS order_items_archive" + suffix +
+                " PARTITION OF order_items_archive" + bounds);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestArchivable(LocalDateTime createdBefore) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM orders WHERE created_at < ? AND " + SETTLED,
+                Timestamp.class, Timestamp.valueOf(createdBefore));
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    @Override
+    public int archiveOrders(LocalDateTime createdBefore, int limit, LocalDateTime archivedAt) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE created_at < ? AND " + SETTLED +
+                        " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, Timestamp.valueOf(createdBefore), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String in = " IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] orderIds = ids.toArray();
+        Object[] archivedAtAndIds = new Object[ids.size() + 1];
+        archivedAtAndIds[0] = Timestamp.valueOf(archivedAt);
+        System.arraycopy(orderIds, 0, archivedAtAndIds, 1, orderIds.length);
+
+        int copiedOrders = jdbcTemplate.update(
+                "INSERT INTO orders_archive (id, customer_name, customer_email, shipping_address, status, " +
+                        "total_amount, created_at, updated_at, archived_at) " +
+                        "SELECT id, customer_name, customer_email, shipping_address, status, " +
+                        "total_amount, created_at, updated_at, ? FROM orders WHERE id" + in,
+                archivedAtAndIds);
+        // order_items keeps no product snapshot, so name and category are copied as they are
+        // now; an item whose product row is gone is still archived, without them
+        int copiedItems = jdbcTemplate.update(
+                "INSERT INTO order_items_archive (id, order_id, order_created_at, product_id, product_name, " +
+                        "category_id, quantity, unit_price, subtotal) " +
+                        "SELECT i.id, i.order_id, o.created_at, i.product_id, p.name, " +
+                        "p.category_id, i.quantity, i.unit_price, i.subtotal FROM order_items i " +
+                        "JOIN orders o ON o.id = i.order_id LEFT JOIN products p ON p.id = i.product_id " +
+                        "WHERE i.order_id" + in,
+                orderIds);
+
+        // Nothing is deleted unless every order and item made it into the archive
+        Integer liveItems = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id" + in, Integer.class, orderIds);
+        if (copiedOrders != ids.size() || liveItems == null || copiedItems != liveItems) {
+            throw new IllegalStateException("Archive copy incomplete: " + copiedOrders + " of " + ids.size() +
+                    " orders, " + copiedItems + " of " + liveItems + " items");
+        }
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id" + in, orderIds);
+        jdbcTemplate.update("DELETE FROM orders WHERE id" + in, orderIds);
+        return ids.size();
+    }
+
+    @Override
+    public Optional<OrderDTO> findArchivedOrder(Long id) {
+        List<OrderDTO> orders = jdbcTemplate.query(
+                "SELECT id, customer_name, customer_email, shipping_address, status, total_amount, " +
+                        "created_at, updated_at FROM orders_archive WHERE id = ?",
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp(8);
+                    OrderDTO order = new OrderDTO();
+                    order.setId(rs.getLong(1));
+                    order.setCustomerName(rs.getString(2));
+                    order.setCustomerEmail(rs.getString(3));
+                    order.setShippingAddress(rs.getString(4));
+                    order.setStatus(Order.OrderStatus.valueOf(rs.getString(5)));
+                    order.setTotalAmount(rs.getBigDecimal(6));
+                    order.setCreatedAt(rs.getTimestamp(7).toLocalDateTime());
+                    order.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+                    return order;
+                },
+                id);
+        if (orders.isEmpty()) {
+            return Optional.empty();
+        }
+
+        OrderDTO order = orders.get(0);
+        // The creation time narrows the item lookup to one partition
+        order.setItems(jdbcTemplate.query(
+                "SELECT id, product_id, product_name, quantity, unit_price, subtotal FROM order_items_archive " +
+                        "WHERE order_id = ? AND order_created_at = ? ORDER BY id",
+                (rs, rowNum) -> new OrderItemDTO(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4),
+                        rs.getBigDecimal(5), rs.getBigDecimal(6)),
+                id, Timestamp.valueOf(order.getCreatedAt())));
+        return Optional.of(order);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface OrderItemExportRepository {
+
+    /**
+     * Streams order items with their order and product, ordered by order id, through a
+     * forward-only cursor. Null filters are ignored. Must be consumed inside a transaction.
+     */
+    Stream<OrderItem> streamForExport(Order.OrderStatus status, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public class OrderItemExportRepositoryImpl implements OrderItemExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<OrderItem> streamForExport(Order.OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT i FROM OrderItem i JOIN FETCH i.order o JOIN FETCH i.product WHERE 1 = 1");
+        if (status != null) {
+            jpql.append(" AND o.status = :status");
+        }
+        if (from != null) {
+            jpql.append(" AND o.createdAt >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND o.createdAt < :to");
+        }
+        jpql.append(" ORDER BY o.id, i.id");
+
+        TypedQuery<OrderItem> query = entityManager.createQuery(jpql.toString(), OrderItem.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query.getResultStream();
+    }
+}
@@ -2,12 +2,24 @@ package com.ecommerce.ecommerce_api.repository;
 
 import com.ecommerce.ecommerce_api.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemExportRepository {
     List<OrderItem> findByOrderId(Long orderId);
     List<OrderItem> findByProductId(Long productId);
+
+    @Query("SELECT i.product.id AS productId, SUM(i.quantity) AS quantity FROM OrderItem i " +
+            "WHERE i.order.id IN :orderIds GROUP BY i.product.id")
+    List<ProductQuantity> sumQuantitiesByProduct(@Param("orderIds") Collection<Long> orderIds);
+
+    interface ProductQuantity {
+        Long getProductId();
+        Long getQuantity();
+    }
 }
\ No newline at end of file
@@ -1,13 +1,83 @@
 package com.ecommerce.ecommerce_api.repository;
 
 import com.ecommerce.ecommerce_api.entity.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSalesRepository, OrderArchiveRepository {
+
+    // Keyset position for newest-first scrolling: strictly older than (createdAt, id). The row
+    // comparison is a range bound on the (..., created_at, id) indexes; the equivalent OR is only a filter
+    String BEFORE_POSITION = "(o.createdAt, o.id) < (:createdAt, :id)";
+    String NEWEST_FIRST = " ORDER BY o.createdAt DESC, o.id DESC";
+
     Page<Order> findByStatus(Order.OrderStatus status, Pageable pageable);
     Page<Order> findByCustomerEmail(String email, Pageable pageable);
-}
\ No newline at end of file
+
+    // Listing is two-phase: page over ids only, then fetch the page's orders with items
+    // and products in one statement. Fetch-joining a collection straight into a paged
+    // query would make Hibernate paginate in memory.
+    @Query("SELECT o.id FROM Order o")
+    Page<Long> findIdPage(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status")
+    Page<Long> findIdPageByStatus(@Param("status") Order.OrderStatus status, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.customerEmail = :email")
+    Page<Long> findIdPageByCustomerEmail(@Param("email") String email, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE " + BEFORE_POSITION + NEWEST_FIRST)
+    List<Long> findIdsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND " + BEFORE_POSITION + NEWEST_FIRST)
+    List<Long> findIdsByStatusBefore(@Param("status") Order.OrderStatus status,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.customerEmail = :email AND " + BEFORE_POSITION + NEWEST_FIRST)
+    List<Long> findIdsByCustomerEmailBefore(@Param("email") String email,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    Optional<Order> findWithItemsById(Long id);
+
+    // Locks in ascending id order; read-only because changes go through updateStatus
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") Order.OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+}
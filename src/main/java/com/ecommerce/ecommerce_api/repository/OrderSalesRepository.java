@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import java.util.Collection;
+
+public interface OrderSalesRepository {
+
+    /**
+     * Locks the orders and brings the sales aggregates in line with their current status:
+     * orders that should count (not cancelled) but are not counted yet are added, counted
+     * orders that have since been cancelled are subtracted. Safe to repeat.
+     *
+     * @return the number of orders whose contribution changed
+     */
+    int reconcileSales(Collection<Long> orderIds);
+
+    /**
+     * Empties every sales aggregate and marks all orders as not counted. Archived orders
+     * are settled and no longer reconciled, so their contribution is added back at once.
+     */
+    void resetSales();
+}
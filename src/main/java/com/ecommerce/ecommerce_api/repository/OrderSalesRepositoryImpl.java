@@ -0,0 +1,197 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class OrderSalesRepositoryImpl implements OrderSalesRepository {
+
+    private static final String DAILY_UPDATE_SQL =
+            "UPDATE sales_daily SET order_count = order_count + ?, units = units + ?, revenue = revenue + ? " +
+            "WHERE sales_date = ?";
+    private static final String DAILY_INSERT_SQL =
+            "INSERT INTO sales_daily (sales_date, order_count, units, revenue) VALUES (?, 0, 0, 0) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String PRODUCT_UPDATE_SQL =
+            "UPDATE sales_by_product SET units = units + ?, revenue = revenue + ? WHERE product_id = ?";
+    private static final String PRODUCT_INSERT_SQL =
+            "INSERT INTO sales_by_product (product_id, units, revenue) VALUES (?, 0, 0) ON CONFLICT DO NOTHING";
+
+    private static final String CATEGORY_UPDATE_SQL =
+            "UPDATE sales_by_category SET units = units + ?, revenue = revenue + ? WHERE category_id = ?";
+    private static final String CATEGORY_INSERT_SQL =
+            "INSERT INTO sales_by_category (category_id, units, revenue) VALUES (?, 0, 0) ON CONFLICT DO NOTHING";
+
+    // Archived orders are never cancelled later, only DELIVERED ones are archived as counted
+    private static final String ARCHIVED_DAILY_SQL =
+            "INSERT INTO sales_daily (sales_date, order_count, units, revenue) " +
+            "SELECT CAST(o.created_at AS DATE), COUNT(*), SUM(o.units), SUM(o.total_amount) FROM (" +
+            "SELECT a.created_at, a.total_amount, (SELECT COALESCE(SUM(i.quantity), 0) FROM order_items_archive i " +
+            "WHERE i.order_id = a.id AND i.order_created_at = a.created_at) AS units " +
+            "FROM orders_archive a WHERE a.status <> 'CANCELLED') o GROUP BY CAST(o.created_at AS DATE)";
+    private static final String ARCHIVED_PRODUCT_SQL =
+            "INSERT INTO sales_by_product (product_id, units, revenue) " +
+            "SELECT i.product_id, SUM(i.quantity), SUM(i.subtotal) FROM order_items_archive i " +
+            "JOIN orders_archive a ON a.id = i.order_id AND a.created_at = i.order_created_at " +
+            "WHERE a.status <> 'CANCELLED' GROUP BY i.product_id";
+    private static final String ARCHIVED_CATEGORY_SQL =
+            "INSERT INTO sales_by_category (category_id, units, revenue) " +
+            "SELECT i.category_id, SUM(i.quantity), SUM(i.subtotal) FROM order_items_archive i " +
+            "JOIN orders_archive a ON a.id = i.order_id AND a.created_at = i.order_created_at " +
+            "WHERE a.status <> 'CANCELLED' AND i.category_id IS NOT NULL GROUP BY i.category_id";
+
+    private static final String MARK_COUNTED_SQL = "UPDATE orders SET sales_counted = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int reconcileSales(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderRow> orders = jdbcTemplate.query(
+                "SELECT id, status, sales_counted, total_amount, created_at FROM orders WHERE id IN (" +
+                        placeholders(orderIds.size()) + ") ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> new OrderRow(rs.getLong(1), !"CANCELLED".equals(rs.getString(2)),
+                        rs.getBoolean(3), rs.getBigDecimal(4), rs.getTimestamp(5).toLocalDateTime().toLocalDate()),
+                orderIds.toArray());
+
+        Map<Long, OrderRow> changed = new HashMap<>();
+        for (OrderRow order : orders) {
+            if (order.shouldCount() != order.counted()) {
+                changed.put(order.id(), order);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        // Keys are sorted so concurrent reconciliations lock aggregate rows in the same order
+        Map<LocalDate, Totals> daily = new TreeMap<>();
+        Map<Long, Totals> byProduct = new TreeMap<>();
+        Map<Long, Totals> byCategory = new TreeMap<>();
+
+        changed.values().forEach(order -> daily.computeIfAbsent(order.createdOn(), key -> new Totals())
+                .add(order.sign(), 0, order.signed(order.totalAmount())));
+
+        jdbcTemplate.query(
+                "SELECT i.order_id, i.product_id, p.category_id, i.quantity, i.subtotal FROM order_items i " +
+                        "JOIN products p ON p.id = i.product_id WHERE i.order_id IN (" +
+                        placeholders(changed.size()) + ")",
+                rs -> {
+                    OrderRow order = changed.get(rs.getLong(1));
+                    long units = (long) order.sign() * rs.getInt(4);
+                    BigDecimal revenue = order.signed(rs.getBigDecimal(5));
+                    daily.get(order.createdOn()).add(0, units, BigDecimal.ZERO);
+                    byProduct.computeIfAbsent(rs.getLong(2), key -> new Totals()).add(0, units, revenue);
+                    byCategory.computeIfAbsent(rs.getLong(3), key -> new Totals()).add(0, units, revenue);
+                },
+                changed.keySet().toArray());
+
+        upsert(DAILY_UPDATE_SQL, DAILY_INSERT_SQL, daily, true);
+        upsert(PRODUCT_UPDATE_SQL, PRODUCT_INSERT_SQL, byProduct, false);
+        upsert(CATEGORY_UPDATE_SQL, CATEGORY_INSERT_SQL, byCategory, false);
+
+        List<OrderRow> rows = new ArrayList<>(changed.values());
+        jdbcTemplate.batchUpdate(MARK_COUNTED_SQL, rows, rows.size(), (ps, order) -> {
+            ps.setBoolean(1, order.shouldCount());
+            ps.setLong(2, order.id());
+        });
+        return changed.size();
+    }
+
+    @Override
+    public void resetSales() {
+        // Orders first, then aggregates: the same lock order reconcileSales uses
+        jdbcTemplate.update("UPDATE orders SET sales_counted = FALSE WHERE sales_counted = TRUE");
+        jdbcTemplate.update("DELETE FROM sales_daily");
+        jdbcTemplate.update("DELETE FROM sales_by_product");
+        jdbcTemplate.update("DELETE FROM sales_by_category");
+        jdbcTemplate.update(ARCHIVED_DAILY_SQL);
+        jdbcTemplate.update(ARCHIVED_PRODUCT_SQL);
+        jdbcTemplate.update(ARCHIVED_CATEGORY_SQL);
+    }
+
+    // Applies the deltas with one batched UPDATE. Keys that had no row yet get an empty one,
+    // which a concurrent reconciliation may have inserted first, and are updated again.
+    private <K> void upsert(String updateSql, String insertSql, Map<K, Totals> deltas, boolean withOrderCount) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<K, Totals>> missing = update(updateSql, new ArrayList<>(deltas.entrySet()), withOrderCount);
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql, missing, missing.size(), (ps, row) -> ps.setObject(1, row.getKey()));
+        if (!update(updateSql, missing, withOrderCount).isEmpty()) {
+            throw new IllegalStateException("Sales aggregate rows vanished while being updated");
+        }
+    }
+
+    private <K> List<Map.Entry<K, Totals>> update(String updateSql, List<Map.Entry<K, Totals>> rows,
+                                                  boolean withOrderCount) {
+        int[][] counts = jdbcTemplate.batchUpdate(updateSql, rows, rows.size(),
+                (ps, row) -> bind(ps, row, withOrderCount));
+
+        List<Map.Entry<K, Totals>> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[0][i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        return missing;
+    }
+
+    private static <K> void bind(PreparedStatement ps, Map.Entry<K, Totals> row, boolean withOrderCount)
+            throws SQLException {
+        int index = 1;
+        if (withOrderCount) {
+            ps.setLong(index++, row.getValue().orders);
+        }
+        ps.setLong(index++, row.getValue().units);
+        ps.setBigDecimal(index++, row.getValue().revenue);
+        ps.setObject(index, row.getKey());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record OrderRow(long id, boolean shouldCount, boolean counted, BigDecimal totalAmount, LocalDate createdOn) {
+
+        int sign() {
+            return shouldCount ? 1 : -1;
+        }
+
+        BigDecimal signed(BigDecimal amount) {
+            return shouldCount ? amount : amount.negate();
+        }
+    }
+
+    private static final class Totals {
+        private long orders;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(long orders, long units, BigDecimal revenue) {
+            this.orders += orders;
+            this.units += units;
+            this.revenue = this.revenue.add(revenue);
+        }
+    }
+}
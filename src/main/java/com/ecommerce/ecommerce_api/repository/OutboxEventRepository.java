@@ -0,0 +1,61 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Only the oldest unpublished event of each order is eligible, so an order's events are
+    // published one after another even across publisher instances. A FAILED event keeps
+    // holding back the rest of its order until it is requeued. SKIP LOCKED lets several
+    // instances claim disjoint batches.
+    @Query(value = "SELECT * FROM outbox_events e " +
+            "WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p " +
+            "WHERE p.order_id = e.order_id AND p.status IN ('PENDING', 'FAILED') AND p.id < e.id) " +
+            "ORDER BY e.id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Claimed events stay PENDING but are not due again until the lease runs out
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int leaseUntil(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    // Outcomes are recorded only while the event is still PENDING under the lease it was
+    // claimed with. Once the lease runs out another publisher may have claimed and published
+    // it, and a late outcome must not overwrite that.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = com.ecommerce.ecommerce_api.entity.OutboxEvent.Status.PUBLISHED, " +
+            "e.publishedAt = :now, e.attempts = e.attempts + 1, e.lastError = null " +
+            "WHERE e.id IN :ids AND e.status = com.ecommerce.ecommerce_api.entity.OutboxEvent.Status.PENDING " +
+            "AND e.nextAttemptAt = :lease")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                      @Param("lease") LocalDateTime lease);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, e.lastError = :lastError, " +
+            "e.nextAttemptAt = :nextAttemptAt " +
+            "WHERE e.id = :id AND e.status = com.ecommerce.ecommerce_api.entity.OutboxEvent.Status.PENDING " +
+            "AND e.nextAttemptAt = :lease")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxEvent.Status status,
+                   @Param("attempts") int attempts,
+                   @Param("lastError") String lastError,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lease") LocalDateTime lease);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e " +
+            "WHERE e.status = com.ecommerce.ecommerce_api.entity.OutboxEvent.Status.PUBLISHED AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductFacetRepository {
+
+    /**
+     * Counts the products matching the filter's shared criteria in one grouped query, per
+     * category and price bucket. Each row also counts the products inside the filter's
+     * price range, so both facets can leave their own criterion out.
+     *
+     * @param priceBounds ascending bucket bounds; bucket {@code i} holds prices below
+     *                    {@code priceBounds[i]}, the last bucket everything above
+     */
+    List<FacetCount> countFacets(ProductFilter filter, List<BigDecimal> priceBounds);
+
+    record FacetCount(Long categoryId, String categoryName, int priceBucket, long total, long inPriceRange) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FacetCount> countFacets(ProductFilter filter, List<BigDecimal> priceBounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category");
+
+        Expression<Integer> bucket = priceBucket(cb, product.get("price"), priceBounds);
+        Predicate inPriceRange = ProductSpecifications.inPriceRange(filter).toPredicate(product, query, cb);
+        Expression<Long> inPriceRangeCount = inPriceRange != null
+                ? cb.sum(cb.<Long>selectCase().when(inPriceRange, 1L).otherwise(0L))
+                : cb.count(product);
+
+        query.multiselect(category.get("id"), category.get("name"), bucket, cb.count(product), inPriceRangeCount)
+                .groupBy(category.get("id"), category.get("name"), bucket);
+        Predicate base = ProductSpecifications.matchingFacetBase(filter).toPredicate(product, query, cb);
+        if (base != null) {
+            query.where(base);
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new FacetCount(row.get(0, Long.class), row.get(1, String.class),
+                        row.get(2, Integer.class), row.get(3, Long.class), toLong(row.get(4))))
+                .toList();
+    }
+
+    // Literal bounds keep the CASE identical in SELECT and GROUP BY, which bind parameters would not
+    private static Expression<Integer> priceBucket(CriteriaBuilder cb, Expression<BigDecimal> price,
+                                                   List<BigDecimal> bounds) {
+        if (bounds.isEmpty()) {
+            return cb.literal(0);
+        }
+        CriteriaBuilder.Case<Integer> bucket = cb.selectCase();
+        for (int i = 0; i < bounds.size(); i++) {
+            bucket = bucket.when(cb.lessThan(price, cb.literal(bounds.get(i))), cb.literal(i));
+        }
+        return bucket.otherwise(cb.literal(bounds.size()));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
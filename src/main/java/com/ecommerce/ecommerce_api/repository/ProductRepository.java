@@ -1,17 +1,114 @@
 package com.ecommerce.ecommerce_api.repository;
 
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
 import com.ecommerce.ecommerce_api.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductStockRepository, ProductFacetRepository {
+
+    // Catalog reads project straight into ProductDTO with the category name joined in,
+    // so no managed entities, dirty-check snapshots or per-row category lookups.
+    // Stock is the row's own; StripedStockReader adds striped buckets.
+    String PRODUCT_DTO_SELECT = "SELECT new com.ecommerce.ecommerce_api.dto.ProductDTO(" +
+            "p.id, p.name, p.description, p.price, p.stock, p.reorderThreshold, " +
+            "c.id, c.name, p.createdAt, p.updatedAt) " +
+            "FROM Product p JOIN p.category c";
+
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
     Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
     List<Product> findByStockLessThan(Integer threshold);
-}
\ No newline at end of file
+
+    // Low-stock candidates: bucket stock only adds to the row's, so a product whose row
+    // already meets the threshold can never be low. Callers add bucket stock and re-check.
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.stock < :threshold ORDER BY p.id")
+    List<ProductDTO> findDTOsByStockLessThan(@Param("threshold") Integer threshold);
+
+    // Matches the partial index idx_products_low_stock
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.stock < p.reorderThreshold ORDER BY p.id")
+    List<ProductDTO> findLowStockCandidateDTOs();
+
+    // Filtered catalog pages fetch the category with the product for the DTO's category name
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(value = PRODUCT_DTO_SELECT,
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDTO> findAllAsDTO(Pageable pageable);
+
+    @Query(value = PRODUCT_DTO_SELECT + " WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    Page<ProductDTO> findDTOsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = PRODUCT_DTO_SELECT + " WHERE p.price BETWEEN :minPrice AND :maxPrice",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductDTO> findDTOsByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                           @Param("maxPrice") BigDecimal maxPrice,
+                                           Pageable pageable);
+
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.id IN :ids")
+    List<ProductDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset reads seek past the last id seen instead of counting and skipping rows
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findDTOsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(PRODUCT_DTO_SELECT + " WHERE c.id = :categoryId AND p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findDTOsByCategoryIdAfterId(@Param("categoryId") Long categoryId,
+                                                 @Param("afterId") Long afterId,
+                                                 Limit limit);
+
+    // Changes whenever any catalog list could: product writes and stock updates touch
+    // updated_at, product deletes touch their category, striped stock moves the bucket sum
+    @Query(value = "SELECT (SELECT MAX(updated_at) FROM products) AS productsUpdatedAt, " +
+            "(SELECT MAX(updated_at) FROM categories) AS categoriesUpdatedAt, " +
+            "(SELECT COUNT(*) FROM categories) AS categoryCount, " +
+            "(SELECT COUNT(*) FROM product_stock_buckets) AS bucketCount, " +
+            "(SELECT COALESCE(SUM(stock), 0) FROM product_stock_buckets) AS bucketStock",
+            nativeQuery = true)
+    CatalogVersion findCatalogVersion();
+
+    // Rows are locked in ascending id order so concurrent carts never deadlock each other.
+    // Loaded read-only: stock is written through ProductStockRepository, never by dirty checking.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Striped products are reserved through their buckets, so their own row is never locked
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdReadOnly(@Param("ids") Collection<Long> ids);
+
+    interface CatalogVersion {
+        LocalDateTime getProductsUpdatedAt();
+        LocalDateTime getCategoriesUpdatedAt();
+        Long getCategoryCount();
+        Long getBucketCount();
+        Long getBucketStock();
+    }
+}
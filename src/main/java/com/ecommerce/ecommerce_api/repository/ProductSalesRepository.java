@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.ProductSalesDTO;
+import com.ecommerce.ecommerce_api.entity.ProductSales;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductSalesRepository extends JpaRepository<ProductSales, Long> {
+
+    // Walks the units index and joins names only for the rows returned
+    @Query("SELECT new com.ecommerce.ecommerce_api.dto.ProductSalesDTO(s.productId, p.name, s.units, s.revenue) " +
+            "FROM ProductSales s LEFT JOIN Product p ON p.id = s.productId " +
+            "ORDER BY s.units DESC, s.productId")
+    List<ProductSalesDTO> findTopDTOs(Limit limit);
+}
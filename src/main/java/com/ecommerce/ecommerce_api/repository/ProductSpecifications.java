@@ -0,0 +1,89 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.entity.ProductStockBucket;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable catalog filters. The category and price criteria are exposed separately
+ * from the rest because facet counts leave their own criterion out.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        return matchingFacetBase(filter).and(inCategories(filter)).and(inPriceRange(filter));
+    }
+
+    // Every criterion that applies to all facets alike
+    public static Specification<Product> matchingFacetBase(ProductFilter filter) {
+        Specification<Product> spec = Specification.unrestricted();
+        if (filter.isInStock()) {
+            spec = spec.and(inStock());
+        }
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+            spec = spec.and(nameStartsWith(filter.getNamePrefix()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            spec = spec.and(createdAfter(filter.getCreatedAfter()));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> inCategories(ProductFilter filter) {
+        return filter.hasCategories() ? inCategories(filter.getCategoryIds()) : Specification.unrestricted();
+    }
+
+    public static Specification<Product> inPriceRange(ProductFilter filter) {
+        Specification<Product> spec = Specification.unrestricted();
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(filter.getMaxPrice()));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // Available stock counts striped buckets too
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> {
+            Subquery<Integer> buckets = query.subquery(Integer.class);
+            var bucket = buckets.from(ProductStockBucket.class);
+            buckets.select(cb.literal(1))
+                    .where(cb.equal(bucket.get("productId"), root.get("id")), cb.gt(bucket.get("stock"), 0));
+            return cb.or(cb.gt(root.get("stock"), 0), cb.exists(buckets));
+        };
+    }
+
+    public static Specification<Product> nameStartsWith(String prefix) {
+        String pattern = prefix.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Product> createdAfter(LocalDateTime createdAfter) {
+        return (root, query, cb) -> cb.greaterThan(root.get("createdAt"), createdAfter);
+    }
+}
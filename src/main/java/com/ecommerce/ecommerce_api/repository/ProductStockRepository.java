@@ -0,0 +1,69 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductStockRepository {
+
+    /**
+     * Decrements stock for every product in a single JDBC batch. Each row is only
+     * updated while it still holds enough stock.
+     *
+     * @return the ids whose conditional update matched no row
+     */
+    Set<Long> decrementStock(Map<Long, Integer> quantities);
+
+    /**
+     * Adds the quantities back in a single JDBC batch, applied in ascending product id
+     * order to match the lock order used when reserving.
+     */
+    void incrementStock(Map<Long, Integer> quantities);
+
+    /**
+     * Returns the summed bucket stock of those products that are striped; products
+     * without buckets are absent from the result.
+     */
+    Map<Long, Integer> sumBucketStock(Collection<Long> productIds);
+
+    /**
+     * Takes the quantity from a single bucket that has enough stock and is not locked by
+     * another transaction.
+     *
+     * @return {@code false} when no such bucket was found
+     */
+    boolean decrementAnyBucket(Long productId, int quantity);
+
+    /**
+     * Locks every bucket of the product in bucket order and drains the quantity across
+     * them. Used when no single unlocked bucket can satisfy the request.
+     *
+     * @return {@code false} when the buckets together hold less than the quantity
+     */
+    boolean decrementAcrossBuckets(Long productId, int quantity);
+
+    /**
+     * Adds the quantities back to the least-stocked bucket of each product in a single
+     * JDBC batch, in ascending product id order.
+     */
+    void incrementBuckets(Map<Long, Integer> quantities);
+
+    /**
+     * Replaces the product's buckets with {@code buckets} rows sharing {@code stock}
+     * as evenly as possible.
+     */
+    void replaceBuckets(Long productId, int stock, int buckets);
+
+    /**
+     * Locks the product's existing buckets and sets them to share {@code stock} as evenly
+     * as possible.
+     */
+    void redistributeBuckets(Long productId, int stock);
+
+    /**
+     * Deletes the product's buckets.
+     *
+     * @return the stock they held
+     */
+    int deleteBuckets(Long productId);
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = ?, version = version + 1 WHERE id = ? AND stock >= ?";
+
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    // Ordered by stock so concurrent reservations spread over the fullest buckets,
+    // skipping the ones other transactions hold
+    private static final String PICK_BUCKET_SQL =
+            "SELECT bucket_no FROM product_stock_buckets WHERE product_id = ? AND stock >= ? " +
+            "ORDER BY stock DESC, bucket_no LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String LOCK_BUCKETS_SQL =
+            "SELECT bucket_no, stock FROM product_stock_buckets WHERE product_id = ? ORDER BY bucket_no FOR UPDATE";
+
+    private static final String DECREMENT_BUCKET_SQL =
+            "UPDATE product_stock_buckets SET stock = stock - ? WHERE product_id = ? AND bucket_no = ?";
+
+    private static final String INCREMENT_BUCKET_SQL =
+            "UPDATE product_stock_buckets SET stock = stock + ? WHERE product_id = ? AND bucket_no = " +
+            "(SELECT b.bucket_no FROM product_stock_buckets b WHERE b.product_id = ? ORDER BY b.stock, b.bucket_no LIMIT 1)";
+
+    private static final String SET_BUCKET_SQL =
+            "UPDATE product_stock_buckets SET stock = ? WHERE product_id = ? AND bucket_no = ?";
+
+    private static final String INSERT_BUCKET_SQL =
+            "INSERT INTO product_stock_buckets (product_id, bucket_no, stock) VALUES (?, ?, ?)";
+
+    private static final String DELETE_BUCKETS_SQL =
+            "DELETE FROM product_stock_buckets WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Long> decrementStock(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, line.getKey());
+            ps.setInt(4, line.getValue());
+        });
+
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (counts[0][i] == 0) {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public void incrementStock(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, line.getKey());
+        });
+    }
+
+    @Override
+    public Map<Long, Integer> sumBucketStock(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT product_id, SUM(stock) FROM product_stock_buckets WHERE product_id IN (" +
+                        placeholders + ") GROUP BY product_id",
+                rs -> {
+                    stock.put(rs.getLong(1), rs.getInt(2));
+                },
+                productIds.toArray());
+        return stock;
+    }
+
+    @Override
+    public boolean decrementAnyBucket(Long productId, int quantity) {
+        List<Integer> bucket = jdbcTemplate.queryForList(PICK_BUCKET_SQL, Integer.class, productId, quantity);
+        if (bucket.isEmpty()) {
+            return false;
+        }
+        jdbcTemplate.update(DECREMENT_BUCKET_SQL, quantity, productId, bucket.get(0));
+        return true;
+    }
+
+    @Override
+    public boolean decrementAcrossBuckets(Long productId, int quantity) {
+        List<int[]> buckets = jdbcTemplate.query(LOCK_BUCKETS_SQL,
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)}, productId);
+
+        int available = buckets.stream().mapToInt(bucket -> bucket[1]).sum();
+        if (available < quantity) {
+            return false;
+        }
+
+        List<int[]> takes = new ArrayList<>();
+        int remaining = quantity;
+        for (int[] bucket : buckets) {
+            if (remaining == 0) {
+                break;
+            }
+            int take = Math.min(remaining, bucket[1]);
+            if (take > 0) {
+                takes.add(new int[]{bucket[0], take});
+                remaining -= take;
+            }
+        }
+
+        jdbcTemplate.batchUpdate(DECREMENT_BUCKET_SQL, takes, takes.size(), (ps, take) -> {
+            ps.setInt(1, take[1]);
+            ps.setLong(2, productId);
+            ps.setInt(3, take[0]);
+        });
+        return true;
+    }
+
+    @Override
+    public void incrementBuckets(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        jdbcTemplate.batchUpdate(INCREMENT_BUCKET_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setLong(3, line.getKey());
+        });
+    }
+
+    @Override
+    public void replaceBuckets(Long productId, int stock, int buckets) {
+        jdbcTemplate.update(DELETE_BUCKETS_SQL, productId);
+
+        List<int[]> rows = new ArrayList<>(buckets);
+        for (int bucketNo = 0; bucketNo < buckets; bucketNo++) {
+            rows.add(new int[]{bucketNo, share(stock, buckets, bucketNo)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_BUCKET_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, productId);
+            ps.setInt(2, row[0]);
+            ps.setInt(3, row[1]);
+        });
+    }
+
+    @Override
+    public void redistributeBuckets(Long productId, int stock) {
+        List<Integer> bucketNos = jdbcTemplate.query(LOCK_BUCKETS_SQL, (rs, rowNum) -> rs.getInt(1), productId);
+        if (bucketNos.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(SET_BUCKET_SQL, bucketNos, bucketNos.size(), (ps, bucketNo) -> {
+            ps.setInt(1, share(stock, bucketNos.size(), bucketNos.indexOf(bucketNo)));
+            ps.setLong(2, productId);
+            ps.setInt(3, bucketNo);
+        });
+    }
+
+    @Override
+    public int deleteBuckets(Long productId) {
+        int stock = jdbcTemplate.query(LOCK_BUCKETS_SQL, (rs, rowNum) -> rs.getInt(2), productId).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        jdbcTemplate.update(DELETE_BUCKETS_SQL, productId);
+        return stock;
+    }
+
+    private static int share(int stock, int buckets, int index) {
+        return stock / buckets + (index < stock % buckets ? 1 : 0);
+    }
+}
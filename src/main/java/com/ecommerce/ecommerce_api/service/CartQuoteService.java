@@ -0,0 +1,83 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.QuoteProperties;
+import com.ecommerce.ecommerce_api.dto.CartQuote;
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prices a cart and checks availability without reserving anything. Lines for the same
+ * product are merged, as checkout does, and every product comes from one coalesced
+ * lookup shared with concurrent quotes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CartQuoteService {
+
+    private final ProductLookupBatcher productLookupBatcher;
+    private final QuoteProperties properties;
+
+    public CartQuote quote(List<CreateOrderRequest.OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CreateOrderRequest.OrderItemRequest item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, ProductDTO> products = await(productLookupBatcher.load(quantities.keySet()));
+
+        CartQuote quote = new CartQuote();
+        quote.setAvailable(true);
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            ProductDTO product = products.get(line.getKey());
+            int quantity = line.getValue();
+            if (product == null) {
+                quote.getLines().add(new CartQuote.Line(line.getKey(), null, quantity, null, null, null,
+                        CartQuote.Availability.NOT_FOUND));
+                quote.setAvailable(false);
+                continue;
+            }
+
+            BigDecimal subtotal = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+            CartQuote.Availability availability = product.getStock() >= quantity
+                    ? CartQuote.Availability.AVAILABLE
+                    : CartQuote.Availability.INSUFFICIENT_STOCK;
+            quote.getLines().add(new CartQuote.Line(product.getId(), product.getName(), quantity,
+                    product.getPrice(), subtotal, product.getStock(), availability));
+            if (availability != CartQuote.Availability.AVAILABLE) {
+                quote.setAvailable(false);
+            }
+            total = total.add(subtotal);
+        }
+        quote.setTotal(total);
+        return quote;
+    }
+
+    private Map<Long, ProductDTO> await(CompletableFuture<Map<Long, ProductDTO>> lookup) {
+        try {
+            return lookup.get(properties.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Product lookup failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException("Product lookup timed out, please retry");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for product lookup");
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.ecommerce.ecommerce_api.service;
 
 import com.ecommerce.ecommerce_api.dto.CategoryDTO;
 import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.event.CategoryChangedEvent;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
 import com.ecommerce.ecommerce_api.exception.DuplicateResourceException;
 import com.ecommerce.ecommerce_api.exception.ResourceNotFoundException;
 import com.ecommerce.ecommerce_api.mapper.CategoryMapper;
 import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,15 +21,26 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final CategoryMapper categoryMapper;
+    private final CategorySnapshotCache categorySnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
-        return categoryMapper.toDTOList(categoryRepository.findAll());
+        return categorySnapshotCache.getSnapshot().categories();
+    }
+
+    public CategorySnapshotCache.Snapshot getCategorySnapshot() {
+        return categorySnapshotCache.getSnapshot();
     }
 
+    // The snapshot answers almost every lookup; the database only sees ids it does not hold yet
     @Transactional(readOnly = true)
     public CategoryDTO getCategoryById(Long id) {
+        CategoryDTO cached = categorySnapshotCache.getSnapshot().find(id);
+        if (cached != null) {
+            return cached;
+        }
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         return categoryMapper.toDTO(category);
@@ -39,6 +54,7 @@ public class CategoryService {
 
         Category category = categoryMapper.toEntity(categoryDTO);
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
         return categoryMapper.toDTO(saved);
     }
 
@@ -49,6 +65,7 @@ public class CategoryService {
 
         categoryMapper.updateEntityFromDTO(categoryDTO, category);
         Category updated = categoryRepository.save(category);
+        publishCategoryChanged(id);
         return categoryMapper.toDTO(updated);
     }
 
@@ -57,6 +74,13 @@ public class CategoryService {
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
+        publishCategoryChanged(id);
         categoryRepository.deleteById(id);
     }
+
+    // Cached product details carry the category name and disappear with the category
+    private void publishCategoryChanged(Long id) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        eventPublisher.publishEvent(new ProductChangedEvent(productRepository.findIdsByCategoryId(id)));
+    }
 }
\ No newline at end of file
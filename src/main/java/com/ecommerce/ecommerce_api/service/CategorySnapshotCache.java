@@ -0,0 +1,80 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.datasource.ReadRouting;
+import com.ecommerce.ecommerce_api.dto.CategoryDTO;
+import com.ecommerce.ecommerce_api.event.CategoryChangedEvent;
+import com.ecommerce.ecommerce_api.mapper.CategoryMapper;
+import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the full category list in memory as an immutable snapshot. Reads never touch
+ * the database once the first snapshot is built; it is rebuilt after every committed
+ * category write.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategorySnapshotCache {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+
+    private volatile Snapshot snapshot;
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : initialize();
+    }
+
+    // Rebuilding under the same lock as initialize() means a first load that raced
+    // with this commit is always replaced afterwards.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        snapshot = build();
+    }
+
+    private synchronized Snapshot initialize() {
+        if (snapshot == null) {
+            snapshot = build();
+        }
+        return snapshot;
+    }
+
+    private Snapshot build() {
+        List<CategoryDTO> categories;
+        try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+            categories = categoryMapper.toDTOList(categoryRepository.findAll());
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (CategoryDTO category : categories) {
+            fingerprint.append(category.getId()).append('|')
+                    .append(category.getName()).append('|')
+                    .append(category.getDescription()).append('|')
+                    .append(category.getCreatedAt()).append('|')
+                    .append(category.getUpdatedAt()).append('\n');
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        Map<Long, CategoryDTO> byId = categories.stream()
+                .collect(Collectors.toUnmodifiableMap(CategoryDTO::getId, Function.identity()));
+        return new Snapshot(List.copyOf(categories), byId, etag);
+    }
+
+    public record Snapshot(List<CategoryDTO> categories, Map<Long, CategoryDTO> byId, String etag) {
+
+        public CategoryDTO find(Long id) {
+            return byId.get(id);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.WriteRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an idempotent write in its own transaction and re-runs it from scratch when the
+ * commit loses an optimistic-lock race, so versioned entities stay lock-free without
+ * surfacing every collision to the client.
+ * <p>
+ * Metrics, tagged by operation: {@code write.conflict.retries} per retried attempt,
+ * {@code write.conflict.recovered} per write that committed after a conflict and
+ * {@code write.conflict.exhausted} per write that gave up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConflictRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final WriteRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        // Inside a caller's transaction a retry cannot help: that transaction is already
+        // doomed, so the conflict goes to whoever owns it
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                if (attempt > 1) {
+                    counter("write.conflict.recovered", operation).increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= properties.maxAttempts()) {
+                    counter("write.conflict.exhausted", operation).increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw ex;
+                }
+                counter("write.conflict.retries", operation).increment();
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(properties.maxBackoff().toNanos(),
+                properties.initialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
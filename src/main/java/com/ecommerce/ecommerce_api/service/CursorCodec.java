@@ -0,0 +1,85 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe continuation tokens.
+ */
+final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    // Ranked results have no stable keyset, so search pages continue from an offset
+    static String encodeOffset(int offset) {
+        return encode(String.valueOf(offset));
+    }
+
+    static int decodeOffset(String cursor) {
+        try {
+            int offset = Integer.parseInt(decode(cursor));
+            if (offset < 0) {
+                throw invalid(cursor);
+            }
+            return offset;
+        } catch (NumberFormatException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    static String encodeCreatedAtAndId(LocalDateTime createdAt, Long id) {
+        return encode(createdAt + SEPARATOR + id);
+    }
+
+    static CreatedAtAndId decodeCreatedAtAndId(String cursor) {
+        String value = decode(cursor);
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid(cursor);
+        }
+        try {
+            return new CreatedAtAndId(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static InvalidCursorException invalid(String cursor) {
+        return new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+
+    record CreatedAtAndId(LocalDateTime createdAt, Long id) {
+    }
+}
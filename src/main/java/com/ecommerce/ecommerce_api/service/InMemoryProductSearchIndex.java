@@ -0,0 +1,197 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.datasource.ReadRouting;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index held in this JVM, for tests and databases without text search. Every
+ * query term must match; name hits weigh more than description hits, mirroring the
+ * weights of the PostgreSQL index.
+ * <p>
+ * Changed products are only marked stale after commit and re-read on the next search,
+ * so writes pay nothing for the index.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private boolean loaded;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale.addAll(event.productIds());
+    }
+
+    @Override
+    public synchronized List<Hit> search(Query query, int offset, int limit) {
+        refresh();
+
+        Set<String> terms = new LinkedHashSet<>(tokenize(query.text()));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> ids = postings.getOrDefault(term, Set.of());
+            if (candidates == null) {
+                candidates = new HashSet<>(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Document document = documents.get(id);
+            if (document.matches(query)) {
+                hits.add(new Hit(id, document.rank(terms),
+                        highlight(document.name(), terms), highlight(document.description(), terms)));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::rank).reversed().thenComparing(Hit::productId));
+        return hits.subList(Math.min(offset, hits.size()), Math.min(offset + limit, hits.size()));
+    }
+
+    private void refresh() {
+        try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+            refreshFromPrimary();
+        }
+    }
+
+    private void refreshFromPrimary() {
+        if (!loaded) {
+            stale.clear();
+            Long afterId = 0L;
+            List<ProductDTO> chunk;
+            do {
+                chunk = productRepository.findDTOsAfterId(afterId, Limit.of(LOAD_CHUNK_SIZE));
+                chunk.forEach(this::index);
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+            loaded = true;
+            return;
+        }
+
+        if (stale.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(stale);
+        stale.removeAll(ids);
+        ids.forEach(this::remove);
+        productRepository.findDTOsByIdIn(ids).forEach(this::index);
+    }
+
+    private void index(ProductDTO product) {
+        remove(product.getId());
+        String description = product.getDescription() != null ? product.getDescription() : "";
+        Document document = new Document(product.getName(), description, product.getCategoryId(), product.getPrice(),
+                counts(product.getName()), counts(description));
+        documents.put(product.getId(), document);
+        for (String term : document.terms()) {
+            postings.computeIfAbsent(term, key -> new HashSet<>()).add(product.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Map<String, Integer> counts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(text).forEach(term -> counts.merge(term, 1, Integer::sum));
+        return counts;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            tokens.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    private static String highlight(String text, Set<String> terms) {
+        StringBuilder highlighted = new StringBuilder();
+        Matcher matcher = TOKEN.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                highlighted.append(text, last, matcher.start())
+                        .append(HIGHLIGHT_START).append(matcher.group()).append(HIGHLIGHT_STOP);
+                last = matcher.end();
+            }
+        }
+        return highlighted.append(text.substring(last)).toString();
+    }
+
+    private record Document(String name, String description, Long categoryId, BigDecimal price,
+                            Map<String, Integer> nameCounts, Map<String, Integer> descriptionCounts) {
+
+        Set<String> terms() {
+            Set<String> terms = new HashSet<>(nameCounts.keySet());
+            terms.addAll(descriptionCounts.keySet());
+            return terms;
+        }
+
+        boolean matches(Query query) {
+            return (query.categoryId() == null || query.categoryId().equals(categoryId))
+                    && (query.minPrice() == null || price.compareTo(query.minPrice()) >= 0)
+                    && (query.maxPrice() == null || price.compareTo(query.maxPrice()) <= 0);
+        }
+
+        double rank(Set<String> terms) {
+            double rank = 0;
+            for (String term : terms) {
+                rank += NAME_WEIGHT * nameCounts.getOrDefault(term, 0)
+                        + DESCRIPTION_WEIGHT * descriptionCounts.getOrDefault(term, 0);
+            }
+            return rank;
+        }
+    }
+}
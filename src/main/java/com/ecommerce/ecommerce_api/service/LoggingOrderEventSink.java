@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.event.OrderEventMessage;
+import com.ecommerce.ecommerce_api.event.OrderEventSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Placeholder consumer until email/analytics/fulfilment sinks exist
+@Slf4j
+@Component
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    @Override
+    public void deliver(List<OrderEventMessage> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("{} order={} {}", event.type(), event.orderId(), event.payload()));
+        }
+    }
+}
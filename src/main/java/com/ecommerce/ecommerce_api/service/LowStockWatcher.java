@@ -0,0 +1,169 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.LowStockProperties;
+import com.ecommerce.ecommerce_api.datasource.ReadRouting;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the set of products below their reorder threshold in memory. It is loaded once
+ * through the partial low-stock index; after that only products named by committed
+ * {@link ProductChangedEvent}s (checkouts, cancellations, edits, imports, deletes) are
+ * re-read, in the background so checkouts do not pay for it. Changes are pushed to
+ * dashboard streams as {@code low-stock} (product data) and {@code cleared} (product id)
+ * events, after an initial {@code snapshot}. Streams are written on a single dispatch
+ * thread, in the order the changes were seen, so a stalled client never holds the lock
+ * that the REST endpoint and the poller need.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockWatcher {
+
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final LowStockProperties properties;
+    private final StripedStockReader stripedStockReader;
+
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this; null until first used
+    private Map<Long, ProductDTO> lowStock;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        changed.addAll(event.productIds());
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.low-stock.refresh-interval:1s}")
+    public synchronized void poll() {
+        // Nobody has asked yet: the first load reads the current state anyway
+        if (lowStock == null) {
+            changed.clear();
+            return;
+        }
+        refresh();
+    }
+
+    public synchronized List<ProductDTO> getLowStockProducts() {
+        refresh();
+        return new ArrayList<>(lowStock.values());
+    }
+
+    public synchronized SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> emitters.remove(emitter));
+
+        // Snapshot and registration under the same lock, so no change falls in between;
+        // the snapshot is queued ahead of every change published after it
+        List<ProductDTO> snapshot = getLowStockProducts();
+        emitters.add(emitter);
+        dispatcher.execute(() -> {
+            if (!send(emitter, "snapshot", snapshot)) {
+                emitters.remove(emitter);
+            }
+        });
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void refresh() {
+        try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+            refreshFromPrimary();
+        }
+    }
+
+    private void refreshFromPrimary() {
+        if (lowStock == null) {
+            changed.clear();
+            Map<Long, ProductDTO> loaded = new TreeMap<>();
+            stripedStockReader.addBucketStock(productRepository.findLowStockCandidateDTOs()).stream()
+                    .filter(product -> product.getStock() < product.getReorderThreshold())
+                    .forEach(product -> loaded.put(product.getId(), product));
+            lowStock = loaded;
+            return;
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            Map<Long, ProductDTO> current = new TreeMap<>();
+            stripedStockReader.addBucketStock(productRepository.findDTOsByIdIn(chunk))
+                    .forEach(product -> current.put(product.getId(), product));
+
+            for (Long id : chunk) {
+                ProductDTO product = current.get(id);
+                if (product != null && product.getStock() < product.getReorderThreshold()) {
+                    if (!product.equals(lowStock.put(id, product))) {
+                        publish("low-stock", product);
+                    }
+                } else if (lowStock.remove(id) != null) {
+                    publish("cleared", id);
+                }
+            }
+        }
+    }
+
+    // Called under the lock; only the streams subscribed by now get the change
+    private void publish(String name, Object data) {
+        List<SseEmitter> targets = List.copyOf(emitters);
+        if (targets.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (SseEmitter emitter : targets) {
+                if (!send(emitter, name, data)) {
+                    emitters.remove(emitter);
+                }
+            }
+        });
+    }
+
+    // An event builder is consumed by sending it, so each stream gets its own
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping low-stock stream: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.OrderArchiveProperties;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Keeps the live {@code orders} and {@code order_items} tables, and their indexes, bounded
+ * to recent and open orders. Settled orders (DELIVERED or CANCELLED, with their sales
+ * already aggregated) older than the retention window are moved into the archive tables
+ * in short batches; several instances can run the job side by side. On PostgreSQL the
+ * archive is range-partitioned by order month, so old months can be moved to cheaper
+ * storage, detached or dropped as a whole. Archived orders are read-only and are still
+ * found by id; listings and exports cover live orders only.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchiveProperties properties;
+    private final Counter archived;
+
+    private boolean partitioned;
+
+    public OrderArchiveService(OrderRepository orderRepository, JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate, OrderArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archived = Counter.builder("orders.archived")
+                .description("Orders moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    // Only the PostgreSQL migration creates the archive partitioned
+    @PostConstruct
+    void detectPartitioning() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        partitioned = "PostgreSQL".equals(database);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.archive.interval:1h}")
+    public void scheduledArchive() {
+        if (properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every settled order past the retention window.
+     *
+     * @return the number of orders moved
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        if (partitioned) {
+            // Outside the batches: creating a partition locks the whole archive briefly
+            orderRepository.findOldestArchivable(cutoff).ifPresent(oldest -> {
+                for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.from(cutoff));
+                     month = month.plusMonths(1)) {
+                    orderRepository.createArchivePartition(month, properties.tablespace());
+                }
+            });
+        }
+
+        int total = 0;
+        Integer moved;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            moved = transactionTemplate.execute(status ->
+                    orderRepository.archiveOrders(cutoff, properties.batchSize(), now));
+            if (moved != null) {
+                total += moved;
+                archived.increment(moved);
+            }
+        } while (moved != null && moved == properties.batchSize());
+
+        if (total > 0) {
+            log.info("Archived {} orders created before {}", total, cutoff);
+        }
+        return total;
+    }
+}
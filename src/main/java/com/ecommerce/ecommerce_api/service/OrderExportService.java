@@ -0,0 +1,123 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.OrderExportFormat;
+import com.ecommerce.ecommerce_api.dto.OrderItemDTO;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OrderItem;
+import com.ecommerce.ecommerce_api.mapper.OrderItemMapper;
+import com.ecommerce.ecommerce_api.mapper.OrderMapper;
+import com.ecommerce.ecommerce_api.repository.OrderItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders straight to an output stream while walking a forward-only cursor, so
+ * memory use does not grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    static final String CSV_HEADER = "order_id,created_at,status,customer_name,customer_email,total_amount," +
+            "product_id,product_name,quantity,unit_price,subtotal";
+
+    // Orders written between persistence context clears
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportOrders(Order.OrderStatus status, LocalDateTime from, LocalDateTime to,
+                             OrderExportFormat format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try (Stream<OrderItem> items = orderItemRepository.streamForExport(status, from, to)) {
+            if (format == OrderExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            OrderDTO current = null;
+            int written = 0;
+            Iterator<OrderItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                OrderItem item = iterator.next();
+                OrderItemDTO itemDTO = orderItemMapper.toDTO(item);
+
+                if (current == null || !current.getId().equals(item.getOrder().getId())) {
+                    if (current != null) {
+                        writeOrder(writer, format, current);
+                        if (++written % CLEAR_INTERVAL == 0) {
+                            writer.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    current = orderMapper.toDTOWithoutItems(item.getOrder());
+                }
+                current.getItems().add(itemDTO);
+            }
+            if (current != null) {
+                writeOrder(writer, format, current);
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeOrder(Writer writer, OrderExportFormat format, OrderDTO order) throws IOException {
+        if (format == OrderExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(order));
+            writer.write('\n');
+            return;
+        }
+
+        for (OrderItemDTO item : order.getItems()) {
+            writer.write(String.join(",",
+                    String.valueOf(order.getId()),
+                    String.valueOf(order.getCreatedAt()),
+                    order.getStatus().name(),
+                    csv(order.getCustomerName()),
+                    csv(order.getCustomerEmail()),
+                    order.getTotalAmount().toPlainString(),
+                    String.valueOf(item.getProductId()),
+                    csv(item.getProductName()),
+                    String.valueOf(item.getQuantity()),
+                    item.getUnitPrice().toPlainString(),
+                    item.getSubtotal().toPlainString()));
+            writer.write('\n');
+        }
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
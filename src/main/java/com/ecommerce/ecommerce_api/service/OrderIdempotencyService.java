@@ -0,0 +1,173 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.IdempotencyProperties;
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.IdempotencyKey;
+import com.ecommerce.ecommerce_api.exception.DuplicateResourceException;
+import com.ecommerce.ecommerce_api.exception.IdempotencyKeyMismatchException;
+import com.ecommerce.ecommerce_api.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates an order at most once per Idempotency-Key. The key is claimed in the order's
+ * own transaction and completed with the response before commit, so a failed attempt
+ * leaves nothing behind and the client may retry it. Replays come from an in-memory
+ * cache, then the table, and never touch inventory. A duplicate arriving while the first
+ * request runs waits for it: on this instance through the in-flight map, across instances
+ * on the primary key of the claimed row.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<StoredOrder>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, StoredOrder> completed;
+
+    public OrderIdempotencyService(OrderService orderService, IdempotencyKeyRepository idempotencyKeyRepository,
+                                   TransactionTemplate transactionTemplate, IdempotencyProperties properties,
+                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .recordStats()
+                .build();
+        // Same tag keys as the Spring-managed caches, or Prometheus rejects one of the two sets
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency",
+                Tags.of("cache.manager", "orderIdempotencyService", "name", "idempotency"));
+    }
+
+    public Result createOrder(String idempotencyKey, CreateOrderRequest request) {
+        String keyHash = digest(idempotencyKey);
+        String requestHash = digest(objectMapper.writeValueAsString(request));
+
+        while (true) {
+            StoredOrder cached = completed.getIfPresent(keyHash);
+            if (cached != null) {
+                return replay(cached, requestHash);
+            }
+
+            CompletableFuture<StoredOrder> execution = new CompletableFuture<>();
+            CompletableFuture<StoredOrder> running = inFlight.putIfAbsent(keyHash, execution);
+            if (running == null) {
+                try {
+                    // A replay from the table has already matched requestHash
+                    Result result = executeOnce(keyHash, requestHash, request);
+                    StoredOrder stored = new StoredOrder(requestHash, result.order());
+                    completed.put(keyHash, stored);
+                    execution.complete(stored);
+                    return result;
+                } catch (RuntimeException ex) {
+                    execution.completeExceptionally(ex);
+                    throw ex;
+                } finally {
+                    inFlight.remove(keyHash, execution);
+                }
+            }
+
+            StoredOrder stored = await(running);
+            if (stored != null) {
+                return replay(stored, requestHash);
+            }
+            // The first request failed and stored nothing, so this one runs on its own
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:10m}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteExpired(now));
+    }
+
+    private Result executeOnce(String keyHash, String requestHash, CreateOrderRequest request) {
+        Optional<StoredOrder> stored = findStored(keyHash);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash);
+        }
+
+        try {
+            OrderDTO order = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                idempotencyKeyRepository.deleteIfExpired(keyHash, now);
+                idempotencyKeyRepository.claim(keyHash, requestHash, now, now.plus(properties.ttl()));
+                OrderDTO created = orderService.createOrder(request);
+                idempotencyKeyRepository.complete(keyHash, created.getId(), objectMapper.writeValueAsString(created));
+                return created;
+            });
+            return new Result(order, false);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance claimed the key first; its transaction has ended by now
+            return replay(findStored(keyHash).orElseThrow(() -> ex), requestHash);
+        }
+    }
+
+    private Optional<StoredOrder> findStored(String keyHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyKeyRepository.findById(keyHash)
+                .filter(key -> key.getResponseBody() != null && key.getExpiresAt().isAfter(now))
+                .map(this::toStoredOrder);
+    }
+
+    private StoredOrder toStoredOrder(IdempotencyKey key) {
+        return new StoredOrder(key.getRequestHash(), objectMapper.readValue(key.getResponseBody(), OrderDTO.class));
+    }
+
+    private StoredOrder await(CompletableFuture<StoredOrder> running) {
+        try {
+            return running.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            return null;
+        } catch (TimeoutException ex) {
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private static Result replay(StoredOrder stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request");
+        }
+        return new Result(stored.order(), true);
+    }
+
+    private static String digest(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Result(OrderDTO order, boolean replayed) {
+    }
+
+    private record StoredOrder(String requestHash, OrderDTO order) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OutboxEvent;
+import com.ecommerce.ecommerce_api.event.OrderCreatedEvent;
+import com.ecommerce.ecommerce_api.event.OrderStatusChangedEvent;
+import com.ecommerce.ecommerce_api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records order events in the outbox table inside the caller's transaction, so an event
+ * exists if and only if the order change committed. {@link OutboxPublisher} delivers them.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        List<OrderCreatedEvent.Line> lines = order.getOrderItems().stream()
+                .map(item -> new OrderCreatedEvent.Line(item.getProduct().getId(), item.getQuantity(), item.getUnitPrice()))
+                .toList();
+        OrderCreatedEvent event = new OrderCreatedEvent(order.getId(), order.getCustomerName(),
+                order.getCustomerEmail(), order.getTotalAmount(), lines, order.getCreatedAt());
+        outboxEventRepository.save(toOutboxEvent(order.getId(), OutboxEvent.OrderEventType.ORDER_CREATED, event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(List<OrderStatusChangedEvent> events) {
+        outboxEventRepository.saveAll(events.stream()
+                .map(event -> toOutboxEvent(event.orderId(), OutboxEvent.OrderEventType.ORDER_STATUS_CHANGED, event))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Long orderId, Order.OrderStatus previousStatus, Order.OrderStatus newStatus) {
+        statusChanged(List.of(new OrderStatusChangedEvent(orderId, previousStatus, newStatus, LocalDateTime.now())));
+    }
+
+    private OutboxEvent toOutboxEvent(Long orderId, OutboxEvent.OrderEventType type, Object payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setOrderId(orderId);
+        outboxEvent.setEventType(type);
+        outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        outboxEvent.setNextAttemptAt(LocalDateTime.now());
+        return outboxEvent;
+    }
+}
@@ -1,56 +1,104 @@
 package com.ecommerce.ecommerce_api.service;
 
+import com.ecommerce.ecommerce_api.dto.BulkStatusUpdateResult;
 import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
 import com.ecommerce.ecommerce_api.dto.OrderDTO;
 import com.ecommerce.ecommerce_api.entity.Order;
 import com.ecommerce.ecommerce_api.entity.OrderItem;
 import com.ecommerce.ecommerce_api.entity.Product;
-import com.ecommerce.ecommerce_api.exception.InsufficientStockException;
+import com.ecommerce.ecommerce_api.event.OrderStatusChangedEvent;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
 import com.ecommerce.ecommerce_api.exception.InvalidStatusTransitionException;
 import com.ecommerce.ecommerce_api.exception.ResourceNotFoundException;
 import com.ecommerce.ecommerce_api.mapper.OrderMapper;
+import com.ecommerce.ecommerce_api.repository.OrderItemRepository;
 import com.ecommerce.ecommerce_api.repository.OrderRepository;
-import com.ecommerce.ecommerce_api.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    // Starting position for the first keyset page, later than any stored order
+    private static final LocalDateTime NEWEST_POSITION = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final StockReservationService stockReservationService;
+    private final OrderOutbox orderOutbox;
+    private final ConflictRetryExecutor conflictRetry;
     private final OrderMapper orderMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(orderMapper::toDTO);
+        return fetchPage(orderRepository.findIdPage(pageable));
     }
 
+    // Settled orders past the retention window live in the archive (OrderArchiveService)
     @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findWithItemsById(id)
+                .map(orderMapper::toDTO)
+                .or(() -> orderRepository.findArchivedOrder(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        return orderMapper.toDTO(order);
     }
 
     @Transactional(readOnly = true)
     public Page<OrderDTO> getOrdersByStatus(Order.OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable)
-                .map(orderMapper::toDTO);
+        return fetchPage(orderRepository.findIdPageByStatus(status, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<OrderDTO> getOrdersByCustomerEmail(String email, Pageable pageable) {
-        return orderRepository.findByCustomerEmail(email, pageable)
-                .map(orderMapper::toDTO);
+        return fetchPage(orderRepository.findIdPageByCustomerEmail(email, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> scrollOrders(Order.OrderStatus status, String customerEmail, String cursor, int size) {
+        CursorCodec.CreatedAtAndId position = cursor != null
+                ? CursorCodec.decodeCreatedAtAndId(cursor)
+                : new CursorCodec.CreatedAtAndId(NEWEST_POSITION, Long.MAX_VALUE);
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Long> ids;
+        if (status != null) {
+            ids = orderRepository.findIdsByStatusBefore(status, position.createdAt(), position.id(), limit);
+        } else if (customerEmail != null) {
+            ids = orderRepository.findIdsByCustomerEmailBefore(customerEmail, position.createdAt(), position.id(), limit);
+        } else {
+            ids = orderRepository.findIdsBefore(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        List<Order> orders = fetchInOrder(hasNext ? ids.subList(0, pageSize) : ids);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = CursorCodec.encodeCreatedAtAndId(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(orderMapper.toDTOList(orders), orders.size(), hasNext, nextCursor);
     }
 
     @Transactional
@@ -62,16 +110,13 @@ public class OrderService {
         order.setStatus(Order.OrderStatus.PENDING);
         order.setOrderItems(new ArrayList<>());
 
+        Map<Long, Product> products = stockReservationService.reserve(request.getItems());
+        eventPublisher.publishEvent(new ProductChangedEvent(products.keySet()));
+
         BigDecimal total = BigDecimal.ZERO;
 
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemRequest.getProductId()));
-
-            if (product.getStock() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException("Insufficient stock for product: " + product.getName() +
-                        ". Available: " + product.getStock() + ", Requested: " + itemRequest.getQuantity());
-            }
+            Product product = products.get(itemRequest.getProductId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -82,58 +127,147 @@ public class OrderService {
 
             order.getOrderItems().add(orderItem);
 
-            product.setStock(product.getStock() - itemRequest.getQuantity());
-            productRepository.save(product);
-
             total = total.add(orderItem.getSubtotal());
         }
 
         order.setTotalAmount(total);
 
         Order savedOrder = orderRepository.save(order);
+        orderOutbox.orderCreated(savedOrder);
         return orderMapper.toDTO(savedOrder);
     }
 
-    @Transactional
+    // Versioned read-modify-write: a concurrent change to the same order makes the commit
+    // fail, and the whole transition is re-evaluated against the fresh state
     public OrderDTO updateOrderStatus(Long id, Order.OrderStatus newStatus) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        return conflictRetry.execute("order.updateStatus", () -> {
+            Order order = findLiveOrder(id);
 
-        validateStatusTransition(order.getStatus(), newStatus);
+            validateStatusTransition(order.getStatus(), newStatus);
 
-        if (newStatus == Order.OrderStatus.CANCELLED && order.getStatus() != Order.OrderStatus.CANCELLED) {
-            restoreStock(order);
-        }
+            if (newStatus == Order.OrderStatus.CANCELLED && order.getStatus() != Order.OrderStatus.CANCELLED) {
+                restoreStock(order);
+            }
 
-        order.setStatus(newStatus);
-        Order updated = orderRepository.save(order);
-        return orderMapper.toDTO(updated);
+            Order.OrderStatus previousStatus = order.getStatus();
+            order.setStatus(newStatus);
+            Order updated = orderRepository.save(order);
+            if (previousStatus != newStatus) {
+                orderOutbox.statusChanged(id, previousStatus, newStatus);
+            }
+            return orderMapper.toDTO(updated);
+        });
     }
 
-    @Transactional
     public void cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        conflictRetry.run("order.cancel", () -> {
+            Order order = findLiveOrder(id);
+
+            if (order.getStatus() == Order.OrderStatus.DELIVERED) {
+                throw new InvalidStatusTransitionException("Cannot cancel a delivered order");
+            }
+
+            if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+                throw new InvalidStatusTransitionException("Order is already cancelled");
+            }
+
+            restoreStock(order);
+            Order.OrderStatus previousStatus = order.getStatus();
+            order.setStatus(Order.OrderStatus.CANCELLED);
+            orderRepository.save(order);
+            orderOutbox.statusChanged(id, previousStatus, Order.OrderStatus.CANCELLED);
+        });
+    }
+
+    @Transactional
+    public BulkStatusUpdateResult bulkUpdateStatus(Set<Long> orderIds, Order.OrderStatus newStatus) {
+        Map<Long, Order> orders = orderRepository.findAllByIdForUpdate(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult();
+        result.setStatus(newStatus);
+        List<Long> accepted = new ArrayList<>();
+        List<Long> cancelled = new ArrayList<>();
+        List<OrderStatusChangedEvent> changes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Long id : new TreeSet<>(orderIds)) {
+            Order order = orders.get(id);
+            if (order == null) {
+                result.getResults().add(new BulkStatusUpdateResult.OrderResult(id,
+                        BulkStatusUpdateResult.Outcome.NOT_FOUND, null, "Order not found with id: " + id));
+                continue;
+            }
+
+            try {
+                validateStatusTransition(order.getStatus(), newStatus);
+            } catch (InvalidStatusTransitionException ex) {
+                result.getResults().add(new BulkStatusUpdateResult.OrderResult(id,
+                        BulkStatusUpdateResult.Outcome.INVALID_TRANSITION, order.getStatus(), ex.getMessage()));
+                continue;
+            }
+
+            accepted.add(id);
+            if (newStatus == Order.OrderStatus.CANCELLED) {
+                cancelled.add(id);
+            }
+            if (order.getStatus() != newStatus) {
+                changes.add(new OrderStatusChangedEvent(id, order.getStatus(), newStatus, now));
+            }
+            result.getResults().add(new BulkStatusUpdateResult.OrderResult(id,
+                    BulkStatusUpdateResult.Outcome.UPDATED, order.getStatus(), null));
+        }
 
-        if (order.getStatus() == Order.OrderStatus.DELIVERED) {
-            throw new InvalidStatusTransitionException("Cannot cancel a delivered order");
+        if (!cancelled.isEmpty()) {
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (OrderItemRepository.ProductQuantity line : orderItemRepository.sumQuantitiesByProduct(cancelled)) {
+                quantities.put(line.getProductId(), line.getQuantity().intValue());
+            }
+            stockReservationService.release(quantities);
+            eventPublisher.publishEvent(new ProductChangedEvent(quantities.keySet()));
+        }
+        if (!changes.isEmpty()) {
+            orderOutbox.statusChanged(changes);
+        }
+        if (!accepted.isEmpty()) {
+            orderRepository.updateStatus(accepted, newStatus, now);
         }
 
-        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new InvalidStatusTransitionException("Order is already cancelled");
+        result.setUpdated(accepted.size());
+        result.setFailed(result.getResults().size() - accepted.size());
+        return result;
+    }
+
+    // Archived orders are DELIVERED or CANCELLED, so no transition applies to them
+    private Order findLiveOrder(Long id) {
+        return orderRepository.findById(id).orElseThrow(() -> orderRepository.findArchivedOrder(id)
+                .<RuntimeException>map(archived -> new InvalidStatusTransitionException(
+                        "Cannot change status of an archived " + archived.getStatus().name().toLowerCase() + " order"))
+                .orElseGet(() -> new ResourceNotFoundException("Order not found with id: " + id)));
+    }
+
+    private Page<OrderDTO> fetchPage(Page<Long> ids) {
+        List<OrderDTO> orders = orderMapper.toDTOList(fetchInOrder(ids.getContent()));
+        return new PageImpl<>(orders, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<Order> fetchInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
 
-        restoreStock(order);
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.stream().map(orders::get).toList();
     }
 
     private void restoreStock(Order order) {
+        Map<Long, Integer> quantities = new HashMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
+        stockReservationService.release(quantities);
+        eventPublisher.publishEvent(new ProductChangedEvent(quantities.keySet()));
     }
 
     private void validateStatusTransition(Order.OrderStatus currentStatus, Order.OrderStatus newStatus) {
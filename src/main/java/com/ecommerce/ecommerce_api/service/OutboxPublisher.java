@@ -0,0 +1,143 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.OutboxProperties;
+import com.ecommerce.ecommerce_api.entity.OutboxEvent;
+import com.ecommerce.ecommerce_api.event.OrderEventMessage;
+import com.ecommerce.ecommerce_api.event.OrderEventSink;
+import com.ecommerce.ecommerce_api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the order event outbox in the background. A batch is claimed (and leased) in
+ * one short transaction, delivered to every sink with no transaction or connection held,
+ * and the outcome recorded in a second short transaction. If delivery fails the batch is
+ * retried event by event, so one bad event only delays its own order. Outcomes are
+ * recorded only for events still held under this publisher's lease, so a delivery that
+ * outlives {@code claimTimeout} cannot undo another publisher's claim. Backpressure is
+ * natural: the next batch is not claimed until the sinks have accepted the current one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.publisher", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OrderEventSink> sinks;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public void poll() {
+        for (int i = 0; i < properties.maxBatchesPerPoll(); i++) {
+            if (publishBatch() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:1h}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.retention());
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deletePublishedBefore(before));
+    }
+
+    private int publishBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        // Microseconds, as stored, so the lease still compares equal when the outcome is recorded
+        LocalDateTime lease = now.plus(properties.claimTimeout()).truncatedTo(ChronoUnit.MICROS);
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim(now, lease));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> published = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        try {
+            deliver(batch.stream().map(this::toMessage).toList());
+            batch.forEach(event -> published.add(event.getId()));
+        } catch (Exception ex) {
+            // A batch holds at most one event per order, so retrying each on its own keeps order
+            for (OutboxEvent event : batch) {
+                try {
+                    deliver(List.of(toMessage(event)));
+                    published.add(event.getId());
+                } catch (Exception eventEx) {
+                    recordFailure(event, eventEx, LocalDateTime.now());
+                    failed.add(event);
+                }
+            }
+        }
+
+        int lost = transactionTemplate.execute(status -> {
+            int recorded = 0;
+            for (OutboxEvent event : failed) {
+                recorded += outboxEventRepository.markFailed(event.getId(), event.getStatus(), event.getAttempts(),
+                        event.getLastError(), event.getNextAttemptAt(), lease);
+            }
+            if (!published.isEmpty()) {
+                recorded += outboxEventRepository.markPublished(published, LocalDateTime.now(), lease);
+            }
+            return batch.size() - recorded;
+        });
+        if (lost > 0) {
+            log.warn("Lease on {} of {} outbox events ran out before delivery finished; outcome not recorded",
+                    lost, batch.size());
+        }
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claim(LocalDateTime now, LocalDateTime lease) {
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(now, properties.batchSize());
+        if (!batch.isEmpty()) {
+            outboxEventRepository.leaseUntil(batch.stream().map(OutboxEvent::getId).toList(), lease);
+        }
+        return batch;
+    }
+
+    private void deliver(List<OrderEventMessage> messages) throws Exception {
+        for (OrderEventSink sink : sinks) {
+            sink.deliver(messages);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception ex, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(String.valueOf(ex.getMessage())));
+        if (attempts >= properties.maxAttempts()) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            log.error("Giving up on outbox event {} ({} for order {}) after {} attempts",
+                    event.getId(), event.getEventType(), event.getOrderId(), attempts, ex);
+        } else {
+            event.setNextAttemptAt(now.plus(backoff(attempts)));
+            log.warn("Outbox event {} for order {} failed (attempt {}): {}",
+                    event.getId(), event.getOrderId(), attempts, ex.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+
+    private OrderEventMessage toMessage(OutboxEvent event) {
+        return new OrderEventMessage(event.getId(), event.getOrderId(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
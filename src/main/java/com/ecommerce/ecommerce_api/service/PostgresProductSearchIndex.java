@@ -0,0 +1,81 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.SearchProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Searches a stored, generated {@code search_vector} column (name weighted above
+ * description) through a GIN index. PostgreSQL recomputes the vector whenever a row is
+ * inserted or its name or description changes, so no application code keeps it current.
+ * The column comes from the schema migrations, built with {@code app.search.language}.
+ * <p>
+ * Every match is ranked with {@code ts_rank_cd} before the page is cut, so the order does
+ * not depend on which rows the index returns first; the sort only keeps the top
+ * {@code offset + limit} rows. Headlines are only built for the page being returned, since
+ * {@code ts_headline} re-parses the original text.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresProductSearchIndex implements ProductSearchIndex {
+
+    private static final Pattern TEXT_SEARCH_CONFIG = Pattern.compile("[a-z_]+");
+
+    private static final String HEADLINE_OPTIONS = "StartSel=" + HIGHLIGHT_START + ", StopSel=" + HIGHLIGHT_STOP;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties properties;
+
+    @Override
+    public List<Hit> search(Query query, int offset, int limit) {
+        String config = textSearchConfig();
+        List<Object> args = new ArrayList<>();
+        StringBuilder ranked = new StringBuilder(
+                "SELECT p.id, p.name, p.description, q.query, ts_rank_cd(p.search_vector, q.query) AS rank " +
+                "FROM products p, websearch_to_tsquery('" + config + "', ?) AS q(query) " +
+                "WHERE p.search_vector @@ q.query");
+        args.add(query.text());
+        if (query.categoryId() != null) {
+            ranked.append(" AND p.category_id = ?");
+            args.add(query.categoryId());
+        }
+        if (query.minPrice() != null) {
+            ranked.append(" AND p.price >= ?");
+            args.add(query.minPrice());
+        }
+        if (query.maxPrice() != null) {
+            ranked.append(" AND p.price <= ?");
+            args.add(query.maxPrice());
+        }
+        ranked.append(" ORDER BY rank DESC, p.id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+
+        String sql = "SELECT r.id, r.rank, " +
+                "ts_headline('" + config + "', r.name, r.query, '" + HEADLINE_OPTIONS + ", HighlightAll=TRUE'), " +
+                "ts_headline('" + config + "', coalesce(r.description, ''), r.query, '" + HEADLINE_OPTIONS +
+                ", MaxFragments=2') " +
+                "FROM (" + ranked + ") r " +
+                "ORDER BY r.rank DESC, r.id";
+
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Hit(rs.getLong(1), rs.getDouble(2), rs.getString(3), rs.getString(4)),
+                args.toArray());
+    }
+
+    // Text search configurations cannot be bound as parameters inside a generated column
+    private String textSearchConfig() {
+        String language = properties.language();
+        if (!TEXT_SEARCH_CONFIG.matcher(language).matches()) {
+            throw new IllegalStateException("Invalid text search configuration: " + language);
+        }
+        return language;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.CacheConfig;
+import com.ecommerce.ecommerce_api.config.ReplicaProperties;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Evicting after commit keeps a concurrent read from re-caching the pre-commit row.
+// With read replicas, evicted ids are remembered for the read-your-writes window: the
+// miss that follows must read the primary, since a replica may not have the commit yet.
+@Component
+public class ProductCacheEvictionListener {
+
+    private static final int MAX_TRACKED_EVICTIONS = 100_000;
+
+    private final CacheManager cacheManager;
+    private final Map<Long, Boolean> recentlyEvicted;
+
+    public ProductCacheEvictionListener(CacheManager cacheManager, ObjectProvider<ReplicaProperties> replicaProperties) {
+        this.cacheManager = cacheManager;
+        Duration window = replicaProperties.getIfAvailable() != null
+                ? replicaProperties.getIfAvailable().readYourWritesWindow()
+                : Duration.ZERO;
+        this.recentlyEvicted = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_EVICTIONS)
+                .expireAfterWrite(window)
+                .<Long, Boolean>build()
+                .asMap();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.productIds().forEach(id -> recentlyEvicted.put(id, Boolean.TRUE));
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            event.productIds().forEach(cache::evict);
+        }
+    }
+
+    public boolean isRecentlyEvicted(Long productId) {
+        return recentlyEvicted.containsKey(productId);
+    }
+}
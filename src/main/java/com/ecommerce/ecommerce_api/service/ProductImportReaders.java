@@ -0,0 +1,182 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads bulk import payloads row by row, so the whole file is never held in memory.
+ */
+public final class ProductImportReaders {
+
+    private ProductImportReaders() {
+    }
+
+    public static Iterator<ProductImportRow> json(InputStream inputStream, ObjectMapper objectMapper) {
+        MappingIterator<ProductDTO> values = objectMapper.readerFor(ProductDTO.class).readValues(inputStream);
+        return new Iterator<>() {
+            private int row;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (done) {
+                    return false;
+                }
+                try {
+                    return values.hasNextValue();
+                } catch (JacksonException ex) {
+                    // Malformed JSON cannot be resynchronised: report it as the final row
+                    return true;
+                }
+            }
+
+            @Override
+            public ProductImportRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                row++;
+                try {
+                    return ProductImportRow.parsed(row, values.nextValue());
+                } catch (JacksonException ex) {
+                    done = !canContinue(values);
+                    return ProductImportRow.failed(row, "Unreadable product: " + ex.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    public static Iterator<ProductImportRow> csv(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> header = readRecord(reader);
+        if (header == null) {
+            return List.<ProductImportRow>of().iterator();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+
+        return new Iterator<>() {
+            private int row;
+            private List<String> nextRecord = readRecord(reader);
+
+            @Override
+            public boolean hasNext() {
+                return nextRecord != null;
+            }
+
+            @Override
+            public ProductImportRow next() {
+                if (nextRecord == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> record = nextRecord;
+                nextRecord = readRecord(reader);
+                row++;
+                try {
+                    return ProductImportRow.parsed(row, toProduct(record, columns));
+                } catch (NumberFormatException ex) {
+                    return ProductImportRow.failed(row, "Invalid number: " + ex.getMessage());
+                }
+            }
+        };
+    }
+
+    private static boolean canContinue(MappingIterator<ProductDTO> values) {
+        try {
+            return values.hasNextValue();
+        } catch (JacksonException ex) {
+            return false;
+        }
+    }
+
+    private static ProductDTO toProduct(List<String> record, Map<String, Integer> columns) {
+        ProductDTO product = new ProductDTO();
+        product.setName(column(record, columns, "name"));
+        product.setDescription(column(record, columns, "description"));
+
+        String price = column(record, columns, "price");
+        product.setPrice(price != null ? new BigDecimal(price) : null);
+        String stock = column(record, columns, "stock");
+        product.setStock(stock != null ? Integer.valueOf(stock) : null);
+        String categoryId = column(record, columns, "categoryId");
+        product.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+        return product;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 record: comma separated, double-quoted fields may contain commas, quotes and newlines
+    private static List<String> readRecord(Reader reader) {
+        try {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                return readRecord(reader);
+            }
+            return fields;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+
+/**
+ * One row of a bulk import: either a parsed product or the reason it could not be read.
+ */
+public record ProductImportRow(int row, ProductDTO product, String error) {
+
+    static ProductImportRow parsed(int row, ProductDTO product) {
+        return new ProductImportRow(row, product, null);
+    }
+
+    static ProductImportRow failed(int row, String error) {
+        return new ProductImportRow(row, null, error);
+    }
+}
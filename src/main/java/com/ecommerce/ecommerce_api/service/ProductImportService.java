@@ -0,0 +1,146 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.BulkImportResult;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_api.mapper.ProductMapper;
+import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products in chunks. Each chunk resolves its categories with one query and is
+ * inserted in its own transaction through JDBC batching; invalid rows are reported and
+ * skipped instead of aborting the load.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductMapper productMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportResult importProducts(Iterator<ProductImportRow> rows) {
+        BulkImportResult result = new BulkImportResult();
+        List<ProductImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (rows.hasNext()) {
+            ProductImportRow row = rows.next();
+            result.setTotal(result.getTotal() + 1);
+
+            String error = row.error() != null ? row.error() : validate(row.product());
+            if (error != null) {
+                reject(result, row, error);
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        result.getErrors().sort(Comparator.comparingInt(BulkImportResult.RowError::getRow));
+        result.setFailed(result.getErrors().size());
+        return result;
+    }
+
+    private void importChunk(List<ProductImportRow> chunk, BulkImportResult result) {
+        try {
+            apply(transactionTemplate.execute(status -> insert(chunk)), result);
+        } catch (DataAccessException ex) {
+            // Retry one row per transaction to pinpoint the rows the database refuses
+            for (ProductImportRow row : chunk) {
+                try {
+                    apply(transactionTemplate.execute(status -> insert(List.of(row))), result);
+                } catch (DataAccessException rowEx) {
+                    reject(result, row, rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void apply(ChunkOutcome outcome, BulkImportResult result) {
+        result.setImported(result.getImported() + outcome.imported());
+        result.getErrors().addAll(outcome.rejected());
+    }
+
+    private ChunkOutcome insert(List<ProductImportRow> chunk) {
+        Set<Long> categoryIds = chunk.stream()
+                .map(row -> row.product().getCategoryId())
+                .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<BulkImportResult.RowError> rejected = new ArrayList<>();
+        List<Product> products = new ArrayList<>(chunk.size());
+        for (ProductImportRow row : chunk) {
+            Category category = categories.get(row.product().getCategoryId());
+            if (category == null) {
+                rejected.add(new BulkImportResult.RowError(row.row(),
+                        "Category not found with id: " + row.product().getCategoryId()));
+                continue;
+            }
+            Product product = productMapper.toEntity(row.product());
+            product.setId(null);
+            product.setCategory(category);
+            products.add(product);
+        }
+
+        productRepository.saveAll(products);
+        productRepository.flush();
+        eventPublisher.publishEvent(new ProductChangedEvent(products.stream().map(Product::getId).toList()));
+        entityManager.clear();
+        return new ChunkOutcome(products.size(), rejected);
+    }
+
+    private String validate(ProductDTO product) {
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(BulkImportResult result, ProductImportRow row, String message) {
+        result.getErrors().add(new BulkImportResult.RowError(row.row(), message));
+    }
+
+    private record ChunkOutcome(int imported, List<BulkImportResult.RowError> rejected) {
+    }
+}
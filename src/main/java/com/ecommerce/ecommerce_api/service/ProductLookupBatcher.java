@@ -0,0 +1,154 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.QuoteProperties;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces product lookups from concurrent requests. The first lookup opens a batch and
+ * schedules it; every lookup arriving within the batch window joins it, and the whole
+ * batch is answered by one {@code IN (...)} query on a small lookup pool. Database load
+ * therefore grows with the number of batches, not with the number of requests.
+ * <p>
+ * Metrics: {@code quote.batch.products} (distinct products per query) and
+ * {@code quote.batch.requests} (lookups answered per query).
+ */
+@Component
+public class ProductLookupBatcher {
+
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final QuoteProperties properties;
+    private final StripedStockReader stripedStockReader;
+    private final DistributionSummary batchProducts;
+    private final DistributionSummary batchRequests;
+    // The timer only hands batches over; queries run on the bounded lookup pool
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-lookup-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService lookups;
+
+    // Guarded by this
+    private Batch pending;
+
+    public ProductLookupBatcher(ProductRepository productRepository, QuoteProperties properties,
+                                StripedStockReader stripedStockReader, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.stripedStockReader = stripedStockReader;
+        this.batchProducts = DistributionSummary.builder("quote.batch.products")
+                .description("Distinct products loaded per coalesced lookup")
+                .register(meterRegistry);
+        this.batchRequests = DistributionSummary.builder("quote.batch.requests")
+                .description("Lookups answered per coalesced query")
+                .register(meterRegistry);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.lookups = Executors.newFixedThreadPool(properties.lookupThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "product-lookup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Completes with the requested products that exist, keyed by id.
+     */
+    public CompletableFuture<Map<Long, ProductDTO>> load(Collection<Long> productIds) {
+        Batch batch;
+        boolean full;
+        synchronized (this) {
+            if (pending == null) {
+                Batch opened = new Batch();
+                pending = opened;
+                scheduler.schedule(() -> lookups.execute(() -> flush(opened)),
+                        properties.batchWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch = pending;
+            batch.productIds.addAll(productIds);
+            batch.requests++;
+            full = batch.productIds.size() >= properties.maxBatchSize();
+            if (full) {
+                pending = null;
+            }
+        }
+        if (full) {
+            lookups.execute(() -> flush(batch));
+        }
+
+        return batch.result.thenApply(products -> {
+            Map<Long, ProductDTO> requested = new HashMap<>();
+            for (Long productId : productIds) {
+                ProductDTO product = products.get(productId);
+                if (product != null) {
+                    requested.put(productId, product);
+                }
+            }
+            return requested;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        lookups.shutdownNow();
+    }
+
+    private void flush(Batch batch) {
+        List<Long> productIds;
+        int requests;
+        synchronized (this) {
+            // A batch sent early because it filled up is still on the schedule
+            if (batch.flushed) {
+                return;
+            }
+            batch.flushed = true;
+            if (pending == batch) {
+                pending = null;
+            }
+            productIds = new ArrayList<>(batch.productIds);
+            requests = batch.requests;
+        }
+
+        try {
+            Map<Long, ProductDTO> products = new HashMap<>();
+            for (int from = 0; from < productIds.size(); from += QUERY_CHUNK_SIZE) {
+                List<Long> chunk = productIds.subList(from, Math.min(from + QUERY_CHUNK_SIZE, productIds.size()));
+                stripedStockReader.addBucketStock(productRepository.findDTOsByIdIn(chunk))
+                        .forEach(product -> products.put(product.getId(), product));
+            }
+            batchProducts.record(productIds.size());
+            batchRequests.record(requests);
+            batch.result.complete(products);
+        } catch (RuntimeException ex) {
+            batch.result.completeExceptionally(ex);
+        }
+    }
+
+    private static final class Batch {
+        private final Set<Long> productIds = new LinkedHashSet<>();
+        private final CompletableFuture<Map<Long, ProductDTO>> result = new CompletableFuture<>();
+        private int requests;
+        private boolean flushed;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_api.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Ranked full-text lookup over product names and descriptions. Implementations return
+ * product ids best match first; the catalog data itself is loaded by the caller.
+ */
+public interface ProductSearchIndex {
+
+    String HIGHLIGHT_START = "<mark>";
+    String HIGHLIGHT_STOP = "</mark>";
+
+    List<Hit> search(Query query, int offset, int limit);
+
+    record Query(String text, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice) {
+    }
+
+    record Hit(Long productId, double rank, String highlightedName, String highlightedDescription) {
+    }
+}
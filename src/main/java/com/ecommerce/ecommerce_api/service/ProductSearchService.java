@@ -0,0 +1,68 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.SearchProperties;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.dto.ProductSearchResult;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductRepository productRepository;
+    private final SearchProperties properties;
+    private final StripedStockReader stripedStockReader;
+
+    /**
+     * Ranked search with optional category and price filters. Like the other scroll
+     * endpoints it returns a continuation cursor instead of a total, which would force
+     * the database to find every match. Paging ends after {@code app.search.max-results}
+     * matches.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSearchResult> search(String text, Long categoryId, BigDecimal minPrice,
+                                                  BigDecimal maxPrice, String cursor, int size) {
+        if (text == null || text.isBlank()) {
+            return new CursorPage<>(List.of(), 0, false, null);
+        }
+        int offset = cursor != null ? CursorCodec.decodeOffset(cursor) : 0;
+        int pageSize = Math.min(Math.min(Math.max(size, 1), properties.maxPageSize()),
+                properties.maxResults() - offset);
+        if (pageSize <= 0) {
+            return new CursorPage<>(List.of(), 0, false, null);
+        }
+
+        List<ProductSearchIndex.Hit> hits = searchIndex.search(
+                new ProductSearchIndex.Query(text.trim(), categoryId, minPrice, maxPrice), offset, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize && offset + pageSize < properties.maxResults();
+        if (hasNext) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        Map<Long, ProductDTO> products = hits.isEmpty() ? Map.of()
+                : stripedStockReader.addBucketStock(productRepository.findDTOsByIdIn(
+                                hits.stream().map(ProductSearchIndex.Hit::productId).toList()))
+                        .stream()
+                        .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+        // A product deleted since it was matched is simply left out of the page
+        List<ProductSearchResult> results = hits.stream()
+                .filter(hit -> products.containsKey(hit.productId()))
+                .map(hit -> new ProductSearchResult(products.get(hit.productId()), hit.rank(),
+                        hit.highlightedName(), hit.highlightedDescription()))
+                .toList();
+        String nextCursor = hasNext ? CursorCodec.encodeOffset(offset + pageSize) : null;
+        return new CursorPage<>(results, results.size(), hasNext, nextCursor);
+    }
+}
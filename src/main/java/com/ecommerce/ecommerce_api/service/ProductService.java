@@ -1,20 +1,41 @@
 package com.ecommerce.ecommerce_api.service;
 
+import com.ecommerce.ecommerce_api.config.CacheConfig;
+import com.ecommerce.ecommerce_api.config.CatalogFacetProperties;
+import com.ecommerce.ecommerce_api.config.StockStripingProperties;
+import com.ecommerce.ecommerce_api.datasource.ReadRouting;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.FacetedProductPage;
 import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+import com.ecommerce.ecommerce_api.dto.ResourceVersion;
 import com.ecommerce.ecommerce_api.entity.Category;
 import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.event.CategoryChangedEvent;
+import com.ecommerce.ecommerce_api.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_api.exception.InvalidStockOperationException;
 import com.ecommerce.ecommerce_api.exception.ResourceNotFoundException;
 import com.ecommerce.ecommerce_api.mapper.ProductMapper;
 import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductFacetRepository;
 import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.repository.ProductSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,35 +44,136 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockStripingProperties stripingProperties;
+    private final CatalogFacetProperties catalogFacetProperties;
+    private final ConflictRetryExecutor conflictRetry;
+    private final LowStockWatcher lowStockWatcher;
+    private final ProductCacheEvictionListener productCacheEvictionListener;
+    private final StripedStockReader stripedStockReader;
 
     @Transactional(readOnly = true)
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
-                .map(productMapper::toDTO);
+        return withBucketStock(productRepository.findAllAsDTO(pageable));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> scrollProducts(Long categoryId, String cursor, int size) {
+        Long afterId = cursor != null ? CursorCodec.decodeId(cursor) : 0L;
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ProductDTO> products = categoryId != null
+                ? productRepository.findDTOsByCategoryIdAfterId(categoryId, afterId, limit)
+                : productRepository.findDTOsAfterId(afterId, limit);
+
+        boolean hasNext = products.size() > pageSize;
+        List<ProductDTO> content = stripedStockReader.addBucketStock(hasNext ? products.subList(0, pageSize) : products);
+        String nextCursor = hasNext ? CursorCodec.encodeId(content.get(content.size() - 1).getId()) : null;
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return productMapper.toDTO(product);
+        // A miss right after an eviction follows a commit that a replica may not have applied yet
+        if (productCacheEvictionListener.isRecentlyEvicted(id)) {
+            try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+                return loadProduct(id);
+            }
+        }
+        return loadProduct(id);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryId(categoryId, pageable)
-                .map(productMapper::toDTO);
+        return withBucketStock(productRepository.findDTOsByCategoryId(categoryId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice, pageable)
+        return withBucketStock(productRepository.findDTOsByPriceBetween(minPrice, maxPrice, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> filterProducts(ProductFilter filter, Pageable pageable) {
+        if (filter.isUnrestricted()) {
+            return withBucketStock(productRepository.findAllAsDTO(pageable));
+        }
+        return withBucketStock(productRepository.findAll(ProductSpecifications.matching(filter), pageable)
+                .map(productMapper::toDTO));
+    }
+
+    /**
+     * Filtered page plus category and price facets in two statements: the page is read as a
+     * slice with its categories, and the grouped facet query that leaves the category and
+     * price criteria to be applied per facet also yields the total, so no count query runs.
+     */
+    @Transactional(readOnly = true)
+    public FacetedProductPage filterProductsWithFacets(ProductFilter filter, Pageable pageable) {
+        Slice<ProductDTO> page = productRepository.findBy(ProductSpecifications.matching(filter),
+                        query -> query.project("category").slice(pageable))
                 .map(productMapper::toDTO);
+        stripedStockReader.addBucketStock(page.getContent());
+        List<BigDecimal> bounds = catalogFacetProperties.priceBounds();
+        List<ProductFacetRepository.FacetCount> counts = productRepository.countFacets(filter, bounds);
+
+        Map<Long, FacetedProductPage.CategoryFacet> categories = new LinkedHashMap<>();
+        long[] prices = new long[bounds.size() + 1];
+        long totalElements = 0;
+        for (ProductFacetRepository.FacetCount count : counts) {
+            FacetedProductPage.CategoryFacet category = categories.computeIfAbsent(count.categoryId(),
+                    id -> new FacetedProductPage.CategoryFacet(id, count.categoryName(), 0));
+            category.setCount(category.getCount() + count.inPriceRange());
+            if (!filter.hasCategories() || filter.getCategoryIds().contains(count.categoryId())) {
+                prices[count.priceBucket()] += count.total();
+                totalElements += count.inPriceRange();
+            }
+        }
+
+        FacetedProductPage result = new FacetedProductPage();
+        result.setContent(page.getContent());
+        result.setPage(page.getNumber());
+        result.setSize(page.getSize());
+        result.setTotalElements(totalElements);
+        result.setTotalPages(page.getSize() > 0 ? (int) Math.ceil((double) totalElements / page.getSize()) : 1);
+        categories.values().stream()
+                .filter(facet -> facet.getCount() > 0)
+                .sorted(Comparator.comparingLong(FacetedProductPage.CategoryFacet::getCount).reversed()
+                        .thenComparing(FacetedProductPage.CategoryFacet::getCategoryName))
+                .forEach(result.getCategories()::add);
+        for (int i = 0; i < prices.length; i++) {
+            result.getPrices().add(new FacetedProductPage.PriceFacet(
+                    i > 0 ? bounds.get(i - 1) : null, i < bounds.size() ? bounds.get(i) : null, prices[i]));
+        }
+        return result;
     }
 
+    /**
+     * Validators for every catalog list, read without loading any product.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        ProductRepository.CatalogVersion version = productRepository.findCatalogVersion();
+        LocalDateTime lastModified = version.getProductsUpdatedAt();
+        if (lastModified == null || (version.getCategoriesUpdatedAt() != null
+                && version.getCategoriesUpdatedAt().isAfter(lastModified))) {
+            lastModified = version.getCategoriesUpdatedAt();
+        }
+        return ResourceVersion.of(lastModified, version.getProductsUpdatedAt(), version.getCategoriesUpdatedAt(),
+                version.getCategoryCount(), version.getBucketCount(), version.getBucketStock());
+    }
+
+    // Without an explicit threshold each product's own reorder threshold applies, served
+    // from the watcher's in-memory set instead of a catalog scan
     @Transactional(readOnly = true)
     public List<ProductDTO> getLowStockProducts(Integer threshold) {
-        return productMapper.toDTOList(productRepository.findByStockLessThan(threshold));
+        if (threshold == null) {
+            return lowStockWatcher.getLowStockProducts();
+        }
+        return stripedStockReader.addBucketStock(productRepository.findDTOsByStockLessThan(threshold)).stream()
+                .filter(product -> product.getStock() < threshold)
+                .toList();
     }
 
     @Transactional
@@ -63,30 +185,112 @@ public class ProductService {
         product.setCategory(category);
 
         Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(saved.getId())));
         return productMapper.toDTO(saved);
     }
 
-    @Transactional
+    // Versioned read-modify-write, retried from a fresh read when a concurrent write wins
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
+        return conflictRetry.execute("product.update", () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+
+            if (productDTO.getCategoryId() != null) {
+                Category category = categoryRepository.findById(productDTO.getCategoryId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + productDTO.getCategoryId()));
+                product.setCategory(category);
+            }
+
+            productMapper.updateEntityFromDTO(productDTO, product);
+
+            // A striped product keeps its stock in the buckets, never on the row
+            int stockInBuckets = 0;
+            if (isStriped(id)) {
+                stockInBuckets = product.getStock();
+                productRepository.redistributeBuckets(id, stockInBuckets);
+                product.setStock(0);
+            }
+
+            Product updated = productRepository.save(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+            ProductDTO dto = productMapper.toDTO(updated);
+            dto.setStock(dto.getStock() + stockInBuckets);
+            return dto;
+        });
+    }
+
+    @Transactional
+    public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        // A delete leaves no updated_at behind, so the category carries it into the catalog version
+        categoryRepository.touch(product.getCategory().getId(), LocalDateTime.now());
+        productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+        eventPublisher.publishEvent(new CategoryChangedEvent(product.getCategory().getId()));
+    }
 
-        if (productDTO.getCategoryId() != null) {
-            Category category = categoryRepository.findById(productDTO.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + productDTO.getCategoryId()));
-            product.setCategory(category);
+    /**
+     * Moves the product's stock into {@code buckets} bucket rows so concurrent orders
+     * reserve from different rows. Striping an already striped product re-spreads it.
+     */
+    @Transactional
+    public ProductDTO stripeStock(Long id, Integer buckets) {
+        if (!stripingProperties.enabled()) {
+            throw new InvalidStockOperationException("Stock striping is disabled");
         }
+        int bucketCount = buckets != null ? buckets : stripingProperties.defaultBuckets();
+        if (bucketCount < 1 || bucketCount > stripingProperties.maxBuckets()) {
+            throw new InvalidStockOperationException(
+                    "Bucket count must be between 1 and " + stripingProperties.maxBuckets());
+        }
+
+        Product product = lockProduct(id);
+        int total = product.getStock() + productRepository.deleteBuckets(id);
+        productRepository.replaceBuckets(id, total, bucketCount);
+        productRepository.decrementStock(Map.of(id, product.getStock()));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
 
-        productMapper.updateEntityFromDTO(productDTO, product);
-        Product updated = productRepository.save(product);
-        return productMapper.toDTO(updated);
+        ProductDTO dto = productMapper.toDTO(product);
+        dto.setStock(total);
+        return dto;
     }
 
+    /**
+     * Folds the product's buckets back into its own stock.
+     */
     @Transactional
-    public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
-        }
-        productRepository.deleteById(id);
+    public ProductDTO unstripeStock(Long id) {
+        Product product = lockProduct(id);
+        int stockInBuckets = productRepository.deleteBuckets(id);
+        productRepository.incrementStock(Map.of(id, stockInBuckets));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+
+        ProductDTO dto = productMapper.toDTO(product);
+        dto.setStock(product.getStock() + stockInBuckets);
+        return dto;
+    }
+
+    private Product lockProduct(Long id) {
+        return productRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+
+    private boolean isStriped(Long id) {
+        return productRepository.sumBucketStock(List.of(id)).containsKey(id);
+    }
+
+    private ProductDTO loadProduct(Long id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        ProductDTO dto = productMapper.toDTO(product);
+        stripedStockReader.addBucketStock(List.of(dto));
+        return dto;
+    }
+
+    private Page<ProductDTO> withBucketStock(Page<ProductDTO> page) {
+        stripedStockReader.addBucketStock(page.getContent());
+        return page;
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.SalesRebuildStatus;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Backfills the sales aggregates from order history. Orders are walked by id in chunks,
+ * each reconciled in its own short transaction, so the job can run next to live traffic
+ * and the outbox publisher. A reset first empties the aggregates; reports read low until
+ * the rebuild finishes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesAggregateRebuildService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sales-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SalesRebuildStatus status = new SalesRebuildStatus();
+
+    public synchronized SalesRebuildStatus start(boolean reset) {
+        if (!status.isRunning()) {
+            status = new SalesRebuildStatus(true, 0, 0, LocalDateTime.now(), null, null);
+            executor.execute(() -> run(reset));
+        }
+        return getStatus();
+    }
+
+    public synchronized SalesRebuildStatus getStatus() {
+        return new SalesRebuildStatus(status.isRunning(), status.getProcessedOrders(), status.getAdjustedOrders(),
+                status.getStartedAt(), status.getFinishedAt(), status.getError());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(boolean reset) {
+        try {
+            if (reset) {
+                transactionTemplate.executeWithoutResult(tx -> orderRepository.resetSales());
+            }
+
+            Long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = orderRepository.findIdsAfter(afterId, Limit.of(CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> chunk = ids;
+                Integer adjusted = transactionTemplate.execute(tx -> orderRepository.reconcileSales(chunk));
+                afterId = ids.get(ids.size() - 1);
+                progress(ids.size(), adjusted != null ? adjusted : 0);
+            } while (ids.size() == CHUNK_SIZE);
+
+            finish(null);
+        } catch (RuntimeException ex) {
+            log.error("Sales aggregate rebuild failed", ex);
+            finish(ex.getMessage());
+        }
+    }
+
+    private synchronized void progress(int processed, int adjusted) {
+        status.setProcessedOrders(status.getProcessedOrders() + processed);
+        status.setAdjustedOrders(status.getAdjustedOrders() + adjusted);
+    }
+
+    private synchronized void finish(String error) {
+        status.setRunning(false);
+        status.setFinishedAt(LocalDateTime.now());
+        status.setError(error);
+    }
+}
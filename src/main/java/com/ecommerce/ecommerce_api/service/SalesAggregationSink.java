@@ -0,0 +1,31 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.event.OrderEventMessage;
+import com.ecommerce.ecommerce_api.event.OrderEventSink;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps the sales aggregates current from the order event outbox, off the checkout path.
+ * Every created or status-changed order is reconciled against its current status, which
+ * makes redelivered or reordered events harmless, including a redelivery after another
+ * sink failed. The publisher calls sinks with no transaction open, so the work commits in
+ * a transaction of its own on a single connection; called inside a transaction it joins it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesAggregationSink implements OrderEventSink {
+
+    private final OrderRepository orderRepository;
+
+    @Override
+    @Transactional
+    public void deliver(List<OrderEventMessage> events) {
+        orderRepository.reconcileSales(new TreeSet<>(events.stream().map(OrderEventMessage::orderId).toList()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CategorySalesDTO;
+import com.ecommerce.ecommerce_api.dto.DailySalesDTO;
+import com.ecommerce.ecommerce_api.dto.ProductSalesDTO;
+import com.ecommerce.ecommerce_api.repository.CategorySalesRepository;
+import com.ecommerce.ecommerce_api.repository.DailySalesRepository;
+import com.ecommerce.ecommerce_api.repository.ProductSalesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves reports from the materialized sales aggregates, so each read touches only the
+ * rows it returns. Aggregates trail checkout by one outbox poll.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesReportService {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final CategorySalesRepository categorySalesRepository;
+
+    @Transactional(readOnly = true)
+    public List<DailySalesDTO> getDailyRevenue(LocalDate from, LocalDate to) {
+        return dailySalesRepository.findDTOsBetween(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopProducts(int limit) {
+        return productSalesRepository.findTopDTOs(Limit.of(Math.max(limit, 1)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> getRevenueByCategory() {
+        return categorySalesRepository.findAllDTOs();
+    }
+}
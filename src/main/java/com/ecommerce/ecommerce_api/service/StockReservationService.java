@@ -0,0 +1,138 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.exception.InsufficientStockException;
+import com.ecommerce.ecommerce_api.exception.ResourceNotFoundException;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves stock for a whole cart in a constant number of statements: one locking
+ * select over every product (ascending id order) and one batched conditional decrement.
+ * Striped products skip the product row lock and draw from their stock buckets instead,
+ * whether or not striping is still enabled.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Product> reserve(List<CreateOrderRequest.OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CreateOrderRequest.OrderItemRequest item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Integer> bucketStock = productRepository.sumBucketStock(quantities.keySet());
+
+        Map<Long, Integer> rowQuantities = new LinkedHashMap<>(quantities);
+        rowQuantities.keySet().removeAll(bucketStock.keySet());
+        Map<Long, Integer> bucketQuantities = new TreeMap<>(quantities);
+        bucketQuantities.keySet().retainAll(bucketStock.keySet());
+
+        Map<Long, Product> products = new HashMap<>();
+        if (!rowQuantities.isEmpty()) {
+            products.putAll(reserveRows(rowQuantities));
+        }
+        if (!bucketQuantities.isEmpty()) {
+            products.putAll(reserveBuckets(bucketQuantities, bucketStock));
+        }
+        return products;
+    }
+
+    /**
+     * Puts released stock back where it was taken from: the product row, or the
+     * product's buckets when it is striped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Map<Long, Integer> quantities) {
+        Set<Long> striped = productRepository.sumBucketStock(quantities.keySet()).keySet();
+        if (striped.isEmpty()) {
+            productRepository.incrementStock(quantities);
+            return;
+        }
+
+        Map<Long, Integer> rowQuantities = new HashMap<>(quantities);
+        rowQuantities.keySet().removeAll(striped);
+        Map<Long, Integer> bucketQuantities = new HashMap<>(quantities);
+        bucketQuantities.keySet().retainAll(striped);
+
+        productRepository.incrementStock(rowQuantities);
+        productRepository.incrementBuckets(bucketQuantities);
+    }
+
+    private Map<Long, Product> reserveRows(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + line.getKey());
+            }
+            if (product.getStock() < line.getValue()) {
+                throw insufficientStock(product, line.getValue());
+            }
+        }
+
+        Set<Long> rejected = productRepository.decrementStock(quantities);
+        if (!rejected.isEmpty()) {
+            Long productId = rejected.iterator().next();
+            throw insufficientStock(products.get(productId), quantities.get(productId));
+        }
+
+        // The rows are locked, so the in-memory copies can safely reflect the new stock
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            product.setStock(product.getStock() - quantity);
+        });
+
+        return products;
+    }
+
+    private Map<Long, Product> reserveBuckets(Map<Long, Integer> quantities, Map<Long, Integer> bucketStock) {
+        Map<Long, Product> products = productRepository.findAllByIdReadOnly(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Ascending product id, so bucket locks are taken in the same order by every cart
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + line.getKey());
+            }
+            // Read-only entity: the stock shown is a snapshot of row plus buckets, not a lock
+            product.setStock(product.getStock() + bucketStock.get(line.getKey()));
+            int quantity = line.getValue();
+            if (product.getStock() < quantity) {
+                throw insufficientStock(product, quantity);
+            }
+            if (!productRepository.decrementAnyBucket(product.getId(), quantity)
+                    && !productRepository.decrementAcrossBuckets(product.getId(), quantity)) {
+                throw insufficientStock(product, quantity);
+            }
+            product.setStock(product.getStock() - quantity);
+        }
+
+        return products;
+    }
+
+    private InsufficientStockException insufficientStock(Product product, Integer requested) {
+        return new InsufficientStockException("Insufficient stock for product: " + product.getName() +
+                ". Available: " + product.getStock() + ", Requested: " + requested);
+    }
+}
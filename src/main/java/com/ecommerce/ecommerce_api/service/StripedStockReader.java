@@ -0,0 +1,34 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Catalog queries select the product row's own stock only. This adds what striped
+ * products hold in their buckets, with one grouped query per call. Buckets are read even
+ * while striping is disabled, since products striped earlier keep them until unstriped.
+ */
+@Component
+@RequiredArgsConstructor
+public class StripedStockReader {
+
+    private final ProductRepository productRepository;
+
+    public <C extends Collection<ProductDTO>> C addBucketStock(C products) {
+        if (products.isEmpty()) {
+            return products;
+        }
+        Map<Long, Integer> bucketStock = productRepository.sumBucketStock(
+                products.stream().map(ProductDTO::getId).toList());
+        if (!bucketStock.isEmpty()) {
+            products.forEach(product ->
+                    product.setStock(product.getStock() + bucketStock.getOrDefault(product.getId(), 0)));
+        }
+        return products;
+    }
+}
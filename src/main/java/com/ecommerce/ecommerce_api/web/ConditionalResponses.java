@@ -0,0 +1,35 @@
+package com.ecommerce.ecommerce_api.web;
+
+import com.ecommerce.ecommerce_api.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a conditional GET from the resource's validators alone: when the client's
+ * ETag or date still matches, the body is neither built nor serialized.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> ifModified(WebRequest request, ResourceVersion version,
+                                                   CacheControl cacheControl, Supplier<T> body) {
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(version.etag())
+                    .lastModified(version.lastModified())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(body.get());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.ecommerce_api.web;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JdbcTemplate attributing each statement it executes to the request running on the
+ * current thread, so stock updates and sales aggregates count towards the N+1 threshold
+ * alongside Hibernate's statements. Rows read through it are not counted.
+ */
+public class QueryCountingJdbcTemplate extends JdbcTemplate {
+
+    public QueryCountingJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+}
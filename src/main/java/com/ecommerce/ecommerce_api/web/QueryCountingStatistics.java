@@ -0,0 +1,64 @@
+package com.ecommerce.ecommerce_api.web;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate's global statistics, additionally attributing each prepared statement, query
+ * row and entity or collection load to the request running on the current thread.
+ */
+public class QueryCountingStatistics extends StatisticsImpl {
+
+    public QueryCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.rowsFetched(rows);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        entityLoaded();
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        entityLoaded();
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        entityLoaded();
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        entityLoaded();
+    }
+
+    private static void entityLoaded() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+}
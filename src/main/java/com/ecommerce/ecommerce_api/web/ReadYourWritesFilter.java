@@ -0,0 +1,92 @@
+package com.ecommerce.ecommerce_api.web;
+
+import com.ecommerce.ecommerce_api.datasource.ReadRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes in front of read replicas. A request that may write (anything but
+ * GET, HEAD and OPTIONS) reads from the primary. When a read-write transaction commits
+ * during a request, the response gets a {@value #COOKIE_NAME} cookie; until it expires
+ * that client's reads are served by the primary as well, so an order it just placed is
+ * visible however far the replicas lag. Requests that only read, such as a cart quote,
+ * leave the client on the replicas.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter implements TransactionExecutionListener {
+
+    public static final String COOKIE_NAME = "primary-reads-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String COOKIE_SET_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".COOKIE_SET";
+
+    private final Duration window;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean writing = !SAFE_METHODS.contains(request.getMethod());
+        if (!writing && !recentlyWrote(request, System.currentTimeMillis())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // Commits happen in the service, before the controller writes the response body
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted() || request.getAttribute(COOKIE_SET_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(COOKIE_SET_ATTRIBUTE, Boolean.TRUE);
+        response.addCookie(cookie(System.currentTimeMillis() + window.toMillis()));
+    }
+
+    private Cookie cookie(long until) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+        return cookie;
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.ecommerce_api.web;
+
+import com.ecommerce.ecommerce_api.config.RequestMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per controller method, the request latency (as a histogram, so percentiles can
+ * be aggregated across instances) and the SQL statements, rows and entity loads the
+ * request caused. A request preparing more than
+ * {@code nPlusOneThreshold} statements is counted and logged as a likely N+1.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final RequestMetricsProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            // An async dispatch keeps the start of the original request
+            if (request.getAttribute(START_ATTRIBUTE) == null) {
+                request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            }
+            RequestQueryStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The request thread is released here; the async dispatch records the whole request
+        RequestQueryStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        RequestQueryStats stats = RequestQueryStats.end();
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (stats == null || start == null) {
+            return;
+        }
+
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        Timer.builder("app.request.latency")
+                .description("Controller method latency")
+                .tag("handler", name)
+                .publishPercentileHistogram()
+                .publishPercentiles(properties.percentiles())
+                .register(meterRegistry)
+                .record(System.nanoTime() - (long) start, TimeUnit.NANOSECONDS);
+        summary("app.request.sql.statements", "SQL statements prepared per request", name)
+                .record(stats.getStatements());
+        summary("app.request.sql.rows", "Query rows fetched per request", name)
+                .record(stats.getRows());
+        summary("app.request.entity.loads", "Entities and collections loaded per request", name)
+                .record(stats.getEntityLoads());
+
+        if (stats.getStatements() > properties.nPlusOneThreshold()) {
+            Counter.builder("app.request.n-plus-one")
+                    .description("Requests exceeding the SQL statement threshold")
+                    .tag("handler", name)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {}: {} SQL statements, {} entity loads, {} rows ({} {})",
+                    name, stats.getStatements(), stats.getEntityLoads(), stats.getRows(),
+                    request.getMethod(), request.getRequestURI());
+        }
+    }
+
+    private DistributionSummary summary(String metric, String description, String handler) {
+        return DistributionSummary.builder(metric)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentiles(properties.percentiles())
+                .register(meterRegistry);
+    }
+}
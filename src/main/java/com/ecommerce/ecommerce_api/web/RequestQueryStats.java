@@ -0,0 +1,57 @@
+package com.ecommerce.ecommerce_api.web;
+
+/**
+ * Database work done by the current request, counted on the request thread by
+ * {@link QueryCountingStatistics} and {@link QueryCountingJdbcTemplate}. Rows and entity
+ * loads come from Hibernate only. Work on other threads (streamed exports, background
+ * jobs) is not attributed to a request.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private int entityLoads;
+
+    private RequestQueryStats() {
+    }
+
+    static void begin() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void rowsFetched(long count) {
+        rows += count;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+}
@@ -0,0 +1,136 @@
+-- Columns and tables added on top of the V1 baseline. Written as alterations so that
+-- baselined databases keep their rows; indexes on the existing tables are left to V3,
+-- which builds them without blocking writes.
+
+-- Optimistic locking and per-product reorder thresholds
+alter table products add column version bigint default 0 not null;
+
+alter table products add column reorder_threshold integer default 10 not null;
+
+alter table orders add column version bigint default 0 not null;
+
+-- Set once an order's sales are in the aggregates; existing orders are counted by the
+-- first sales rebuild
+alter table orders add column sales_counted boolean default false not null;
+
+-- Product ids come from a pooled sequence (allocation 50) so inserts can be batched.
+-- Hibernate hands out the 50 ids up to each value it draws, so the first value drawn
+-- must leave room above the highest existing id.
+alter table products alter column id drop identity;
+
+create sequence products_seq start with 1 increment by 50;
+
+select setval('products_seq', (select coalesce(max(id), 0) + 50 from products), false);
+
+-- Full-text search (PostgresProductSearchIndex): name weighted above description,
+-- recomputed by PostgreSQL on every write. Adding a stored column rewrites the table.
+alter table products add column search_vector tsvector generated always as (
+    setweight(to_tsvector('${search-language}', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('${search-language}', coalesce(description, '')), 'B')) stored;
+
+-- Striped stock for hot products
+create table product_stock_buckets (
+    bucket_no integer not null,
+    stock integer not null,
+    product_id bigint not null,
+    primary key (bucket_no, product_id)
+);
+
+alter table if exists product_stock_buckets
+    add constraint fk_product_stock_buckets_product
+    foreign key (product_id)
+    references products
+    on delete cascade;
+
+-- Transactional outbox for order events
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create table outbox_events (
+    attempts integer not null,
+    created_at timestamp(6),
+    id bigint not null,
+    next_attempt_at timestamp(6) not null,
+    order_id bigint not null,
+    published_at timestamp(6),
+    status varchar(20) not null check ((status in ('PENDING','PUBLISHED','FAILED'))),
+    event_type varchar(40) not null check ((event_type in ('ORDER_CREATED','ORDER_STATUS_CHANGED'))),
+    last_error varchar(1000),
+    payload TEXT not null,
+    primary key (id)
+);
+
+create index idx_outbox_events_status_next_attempt
+    on outbox_events (status, next_attempt_at);
+
+create index idx_outbox_events_order_id
+    on outbox_events (order_id, id);
+
+-- Idempotency-Key claims for order creation
+create table idempotency_keys (
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    order_id bigint,
+    key_hash varchar(32) not null,
+    request_hash varchar(32) not null,
+    response_body TEXT,
+    primary key (key_hash)
+);
+
+create index idx_idempotency_keys_expires_at
+    on idempotency_keys (expires_at);
+
+-- Materialized sales aggregates
+create table sales_by_category (
+    revenue numeric(14,2) not null,
+    category_id bigint not null,
+    units bigint not null,
+    primary key (category_id)
+);
+
+create table sales_by_product (
+    revenue numeric(14,2) not null,
+    product_id bigint not null,
+    units bigint not null,
+    primary key (product_id)
+);
+
+create index idx_sales_by_product_units
+    on sales_by_product (units);
+
+create table sales_daily (
+    revenue numeric(14,2) not null,
+    sales_date date not null,
+    order_count bigint not null,
+    units bigint not null,
+    primary key (sales_date)
+);
+
+-- Settled orders moved out of orders/order_items by OrderArchiveService; partitions
+-- per month are added by the archive job as it needs them
+create table orders_archive (
+    id bigint not null,
+    customer_name varchar(100) not null,
+    customer_email varchar(150) not null,
+    shipping_address varchar(200) not null,
+    status varchar(20) not null,
+    total_amount numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    archived_at timestamp(6) not null,
+    primary key (id, created_at)
+) partition by range (created_at);
+
+-- Product name and category are copied when archiving, since archived items outlive the
+-- product rows; both are null for an item whose product was already gone
+create table order_items_archive (
+    id bigint not null,
+    order_id bigint not null,
+    order_created_at timestamp(6) not null,
+    product_id bigint not null,
+    product_name varchar(200),
+    category_id bigint,
+    quantity integer not null,
+    unit_price numeric(10,2) not null,
+    subtotal numeric(10,2) not null,
+    primary key (order_id, id, order_created_at)
+) partition by range (order_created_at);
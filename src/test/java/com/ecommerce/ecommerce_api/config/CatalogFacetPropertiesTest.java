@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogFacetPropertiesTest {
+
+    @Test
+    void priceBoundsAreSortedAndDeduplicatedByValue() {
+        CatalogFacetProperties properties = new CatalogFacetProperties(List.of(
+                new BigDecimal("100"), new BigDecimal("25"), new BigDecimal("50"),
+                new BigDecimal("25.00"), new BigDecimal("100")));
+
+        assertThat(properties.priceBounds()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"));
+    }
+}
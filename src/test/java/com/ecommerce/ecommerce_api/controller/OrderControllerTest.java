@@ -0,0 +1,189 @@
+package com.ecommerce.ecommerce_api.controller;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.service.OrderService;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.item;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Product first;
+    private Product second;
+
+    @BeforeEach
+    void setUp() {
+        Category category = fixtures.createCategory("Export");
+
+        first = createProduct(category, "Desk, oak");
+        second = createProduct(category, "Chair");
+    }
+
+    @Test
+    void exportStreamsOneJsonLinePerOrder() throws Exception {
+        OrderDTO cancelled = createOrder();
+        orderService.cancelOrder(cancelled.getId());
+
+        List<String> lines = export("/api/orders/export?format=NDJSON&status=CANCELLED");
+
+        assertThat(lines).isNotEmpty();
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"status\":\"CANCELLED\""));
+        assertThat(lines).anySatisfy(line -> assertThat(line)
+                .contains("\"id\":" + cancelled.getId() + ",")
+                .contains("\"productName\":\"Desk, oak\"")
+                .contains("\"productName\":\"Chair\""));
+    }
+
+    @Test
+    void exportStreamsOneCsvRowPerOrderItem() throws Exception {
+        OrderDTO order = createOrder();
+
+        List<String> lines = export("/api/orders/export?format=CSV&status=" + Order.OrderStatus.PENDING);
+
+        assertThat(lines.get(0)).startsWith("order_id,created_at,status");
+        assertThat(lines).filteredOn(line -> line.startsWith(order.getId() + ","))
+                .hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains("\"Desk, oak\""));
+    }
+
+    @Test
+    void bulkStatusUpdateReportsPerOrderOutcome() throws Exception {
+        OrderDTO pending = createOrder();
+        OrderDTO delivered = createOrder();
+        orderService.updateOrderStatus(delivered.getId(), Order.OrderStatus.DELIVERED);
+
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [" + pending.getId() + ", " + delivered.getId() + ", 999999]," +
+                                " \"status\": \"CANCELLED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].orderId").value(pending.getId()))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[0].previousStatus").value("PENDING"))
+                .andExpect(jsonPath("$.results[1].outcome").value("INVALID_TRANSITION"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"));
+
+        assertThat(orderService.getOrderById(pending.getId()).getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(orderService.getOrderById(delivered.getId()).getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+        // the delivered order keeps its reservation, the cancelled one is returned
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStock()).isEqualTo(99);
+        assertThat(productRepository.findById(second.getId()).orElseThrow().getStock()).isEqualTo(98);
+    }
+
+    @Test
+    void retriedOrderWithSameIdempotencyKeyIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long ordersBefore = orderRepository.count();
+
+        String original = postOrder(key, 3)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        String replayed = postOrder(key, 3)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayed).isEqualTo(original);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStock()).isEqualTo(97);
+
+        postOrder(key, 4).andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Set<String> bodies = ConcurrentHashMap.newKeySet();
+        runConcurrently(6, () -> {
+            bodies.add(postOrder(key, 1)
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString());
+            return null;
+        });
+
+        assertThat(bodies).hasSize(1);
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStock()).isEqualTo(99);
+    }
+
+    private ResultActions postOrder(String idempotencyKey, int quantity) throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerName\": \"Test Customer\", \"customerEmail\": \"customer@example.com\"," +
+                        " \"shippingAddress\": \"123 Test Street, Test City\"," +
+                        " \"items\": [{\"productId\": " + first.getId() + ", \"quantity\": " + quantity + "}]}"));
+    }
+
+    private List<String> export(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return Arrays.asList(body.split("\n"));
+    }
+
+    private OrderDTO createOrder() {
+        return orderService.createOrder(orderFor(item(first, 1), item(second, 2)));
+    }
+
+    private Product createProduct(Category category, String name) {
+        Product product = fixtures.newProduct(category, 100, "25.00");
+        product.setName(name);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.ecommerce_api.controller;
+
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Import");
+    }
+
+    @Test
+    void csvImportReportsRowErrorsAndKeepsGoodRows() throws Exception {
+        String csv = "name,description,price,stock,categoryId\n" +
+                "Lamp,\"Desk lamp, 40W\",19.90,5," + category.getId() + "\n" +
+                "X,,19.90,5," + category.getId() + "\n" +
+                "Vase,,abc,5," + category.getId() + "\n" +
+                "Rug,,49.00,2,999999\n" +
+                "Shelf,,89.00,1," + category.getId() + "\n";
+
+        mockMvc.perform(post("/api/products/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[2].row").value(4))
+                .andExpect(jsonPath("$.errors[2].message").value("Category not found with id: 999999"));
+
+        assertThat(productRepository.findIdsByCategoryId(category.getId())).hasSize(2);
+    }
+
+    @Test
+    void jsonImportInsertsEveryValidProduct() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        int count = 1200;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Bulk ").append(i).append("\",\"price\":1.50,\"stock\":3,\"categoryId\":")
+                    .append(category.getId()).append('}');
+        }
+        json.append(",{\"name\":\"Broken\",\"price\":\"not a price\",\"stock\":1,\"categoryId\":")
+                .append(category.getId()).append("}]");
+
+        mockMvc.perform(post("/api/products/bulk").contentType(MediaType.APPLICATION_JSON).content(json.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(count + 1))
+                .andExpect(jsonPath("$.imported").value(count))
+                .andExpect(jsonPath("$.errors[0].row").value(count + 1));
+
+        assertThat(productRepository.findIdsByCategoryId(category.getId())).hasSize(count);
+    }
+
+    @Test
+    void productRevalidationIsAnsweredFromTheCache() throws Exception {
+        Product product = createProduct("Cached lamp");
+        String etag = mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("s-maxage=60")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(put("/api/products/{id}", product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cached lamp\",\"price\":12.00,\"stock\":4,\"categoryId\":"
+                                + category.getId() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(12.00));
+    }
+
+    @Test
+    void productListRevalidatesAgainstTheCatalogVersion() throws Exception {
+        Product product = createProduct("Listed lamp");
+        String etag = listETag();
+
+        mockMvc.perform(get("/api/products").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(delete("/api/products/{id}", product.getId()))
+                .andExpect(status().isNoContent());
+        assertThat(listETag()).isNotEqualTo(etag);
+    }
+
+    private String listETag() throws Exception {
+        return mockMvc.perform(get("/api/products").param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Product createProduct(String name) {
+        Product product = fixtures.newProduct(category, 3, "9.99");
+        product.setName(name);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.ecommerce_api.datasource;
+
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.service.ProductService;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import com.ecommerce.ecommerce_api.web.ReadYourWritesFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica is a second, empty in-memory database: only the lag table exists there
+@SpringBootTest(properties = {
+        "app.datasource.replica.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=SELECT lag_seconds FROM replica_status",
+        "app.datasource.replica.lag-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds DOUBLE PRECISION)");
+        replica.update("DELETE FROM replica_status");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToACaughtUpReplica() {
+        setReplicaLag(0);
+
+        assertThat(databaseName(true)).isEqualToIgnoringCase("replica-routing-test");
+        assertThat(databaseName(false)).startsWithIgnoringCase("ecommerce-");
+        try (ReadRouting.Pin ignored = ReadRouting.pinToPrimary()) {
+            assertThat(databaseName(true)).startsWithIgnoringCase("ecommerce-");
+        }
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        setReplicaLag(60);
+        double before = reads("primary", "replica-lag");
+
+        assertThat(databaseName(true)).startsWithIgnoringCase("ecommerce-");
+        assertThat(reads("primary", "replica-lag") - before).isEqualTo(1);
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        setReplicaLag(0);
+        Cookie stickiness = mockMvc.perform(post("/api/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Replica " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        double replicaBefore = reads("replica-0", "replica");
+
+        // The replica has no products table, so this only succeeds on the primary
+        mockMvc.perform(get("/api/products").param("page", "0").param("size", "1").cookie(stickiness))
+                .andExpect(status().isOk());
+        assertThat(reads("replica-0", "replica")).isEqualTo(replicaBefore);
+    }
+
+    @Test
+    void readOnlyPostLeavesTheClientOnTheReplicas() throws Exception {
+        // Lagging, so the quote's own lookup reads the primary; only the cookie matters here
+        setReplicaLag(60);
+
+        mockMvc.perform(post("/api/products/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":1,\"quantity\":1}]}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    @Test
+    void productCacheMissAfterAnUpdateReadsThePrimary() {
+        setReplicaLag(0);
+        Category category = fixtures.createCategory("Replica");
+        ProductDTO product = new ProductDTO();
+        product.setName("Product " + UUID.randomUUID());
+        product.setPrice(new BigDecimal("9.99"));
+        product.setStock(5);
+        product.setCategoryId(category.getId());
+        Long id = productService.createProduct(product).getId();
+        double pinnedBefore = reads("primary", "read-your-writes");
+
+        assertThat(productService.getProductById(id).getId()).isEqualTo(id);
+        assertThat(reads("primary", "read-your-writes") - pinnedBefore).isEqualTo(1);
+    }
+
+    private void setReplicaLag(double seconds) {
+        replica.update("DELETE FROM replica_status");
+        replica.update("INSERT INTO replica_status (lag_seconds) VALUES (?)", seconds);
+        replicaRoutingDataSource.checkLag();
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private double reads(String target, String reason) {
+        var counter = meterRegistry.find("datasource.reads").tag("target", target).tag("reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
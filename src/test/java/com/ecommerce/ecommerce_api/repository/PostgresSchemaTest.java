@@ -0,0 +1,171 @@
+package com.ecommerce.ecommerce_api.repository;
+
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The database starts the way an existing installation does: the V1 schema and rows
+// created before migrations. The application then baselines it, applies V2 and later,
+// and Hibernate validates the result against the entities.
+@SpringBootTest(properties = {
+        "app.search.engine=postgres",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSchemaTest {
+
+    private static final int LEGACY_PRODUCTS = 5000;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeAll
+    static void createPreMigrationDatabase() throws IOException {
+        JdbcTemplate legacy = new JdbcTemplate(
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        legacy.execute(new ClassPathResource("db/migration/postgresql/V1__baseline_schema.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        legacy.update("INSERT INTO categories (name, created_at) " +
+                "SELECT 'Legacy ' || n, now() FROM generate_series(1, 20) n");
+        legacy.update("INSERT INTO products (name, description, price, stock, category_id, created_at) " +
+                "SELECT 'Legacy ' || n, CASE WHEN n % 500 = 0 THEN 'Limited widget' ELSE 'Everyday item' END, " +
+                "n % 1000 + 0.99, n % 200, n % 20 + 1, now() - n * interval '1 hour' " +
+                "FROM generate_series(1, " + LEGACY_PRODUCTS + ") n");
+        legacy.update("INSERT INTO orders (customer_name, customer_email, shipping_address, status, " +
+                "total_amount, created_at) " +
+                "SELECT 'Customer', 'customer' || n % 2000 || '@example.com', 'Street 1', " +
+                "CASE WHEN n % 100 = 0 THEN 'PENDING' ELSE 'DELIVERED' END, 10.00, now() - n * interval '1 minute' " +
+                "FROM generate_series(1, 20000) n");
+        legacy.update("INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) " +
+                "SELECT n / 2 + 1, n % " + LEGACY_PRODUCTS + " + 1, 1, 10.00, 10.00 FROM generate_series(0, 39999) n");
+        legacy.execute("ANALYZE");
+    }
+
+    @Test
+    void existingDatabaseIsBaselinedAndUpgradedInPlace() {
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "SELECT version, type, success FROM flyway_schema_history WHERE version IS NOT NULL ORDER BY installed_rank");
+        assertThat(history).extracting(row -> row.get("version")).containsExactly("1", "2", "3");
+        assertThat(history.get(0).get("type")).isEqualTo("BASELINE");
+        assertThat(history).allSatisfy(row -> assertThat(row.get("success")).isEqualTo(true));
+
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT reorder_threshold FROM products", Integer.class))
+                .containsExactly(10);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT sales_counted FROM orders", Boolean.class))
+                .containsExactly(false);
+
+        // Pooled sequence ids continue above the rows inserted through the old identity column
+        Category category = categoryRepository.findAll().get(0);
+        Product product = new Product();
+        product.setName("After migration");
+        product.setPrice(new BigDecimal("1.00"));
+        product.setStock(1);
+        product.setCategory(category);
+        assertThat(productRepository.save(product).getId()).isGreaterThan((long) LEGACY_PRODUCTS);
+    }
+
+    @Test
+    void concurrentlyBuiltIndexesAreValid() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                "WHERE c.relname LIKE 'idx\\_%' AND i.indisvalid", String.class);
+
+        assertThat(indexes).contains("idx_orders_status_created_at", "idx_order_items_product_id",
+                "idx_products_name_prefix", "idx_products_search_vector", "idx_products_low_stock");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_index WHERE NOT indisvalid", Integer.class)).isZero();
+    }
+
+    // Statistics come from the legacy rows. A plan that merely names the index could be a
+    // full index scan with the predicate applied as a filter, so each case checks the index
+    // node's Index Cond for the criterion the repository query bounds the scan with.
+    // The keyset cases mirror OrderRepository.BEFORE_POSITION.
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "SELECT id FROM orders WHERE status = 'PENDING' AND (created_at, id) < (LOCALTIMESTAMP - INTERVAL '1 day', 500)"
+                    + " ORDER BY created_at DESC, id DESC LIMIT 20"
+                    + " | idx_orders_status_created_at | ROW(created_at, id) < ROW(",
+            "SELECT id FROM orders WHERE customer_email = 'a@example.com'"
+                    + " AND (created_at, id) < (LOCALTIMESTAMP - INTERVAL '1 day', 500)"
+                    + " ORDER BY created_at DESC, id DESC LIMIT 20"
+                    + " | idx_orders_customer_email_created_at | ROW(created_at, id) < ROW(",
+            "SELECT id FROM orders WHERE (created_at, id) < (LOCALTIMESTAMP - INTERVAL '1 day', 500)"
+                    + " ORDER BY created_at DESC, id DESC LIMIT 20"
+                    + " | idx_orders_created_at | ROW(created_at, id) < ROW(",
+            "SELECT id FROM order_items WHERE order_id IN (1, 2, 3) | idx_order_items_order_id | order_id = ANY",
+            "SELECT order_id FROM order_items WHERE product_id = 1 | idx_order_items_product_id | product_id = 1",
+            "SELECT id FROM products WHERE category_id = 1 ORDER BY price LIMIT 20"
+                    + " | idx_products_category_price | category_id = 1",
+            "SELECT id FROM products WHERE price BETWEEN 10 AND 20 | idx_products_price | price >=",
+            "SELECT id FROM products WHERE stock < 5 | idx_products_stock | stock < 5",
+            "SELECT id FROM products WHERE lower(name) LIKE 'legacy 123%' | idx_products_name_prefix"
+                    + " | lower((name)::text) ~>=~ 'legacy 123'",
+            "SELECT id FROM products WHERE search_vector @@ websearch_to_tsquery('english', 'widget')"
+                    + " | idx_products_search_vector | search_vector @@"
+    })
+    void finderQueriesAreBoundedByTheirIndex(String query, String index, String condition) {
+        List<String> scan = indexScan(explain(query), index);
+
+        assertThat(scan).filteredOn(line -> line.startsWith("Index Cond:"))
+                .singleElement().asString().contains(condition);
+    }
+
+    // The partial index holds only the rows below their threshold, so it needs no condition
+    @Test
+    void lowStockQueryReadsOnlyThePartialIndex() {
+        List<String> scan = indexScan(
+                explain("SELECT id FROM products WHERE stock < reorder_threshold ORDER BY id"), "idx_products_low_stock");
+
+        assertThat(scan).noneMatch(line -> line.startsWith("Filter:"));
+    }
+
+    private List<String> explain(String query) {
+        return jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+    }
+
+    // The node scanning the index and its properties, up to its first child node
+    private static List<String> indexScan(List<String> plan, String index) {
+        int node = IntStream.range(0, plan.size())
+                .filter(i -> plan.get(i).matches(".*(using|on) " + index + " .*"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No scan of " + index + " in\n" + String.join("\n", plan)));
+        List<String> scan = new ArrayList<>();
+        scan.add(plan.get(node).trim());
+        for (int i = node + 1; i < plan.size() && !plan.get(i).contains("->"); i++) {
+            scan.add(plan.get(i).trim());
+        }
+        return scan;
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.QuoteProperties;
+import com.ecommerce.ecommerce_api.dto.CartQuote;
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.exception.ServiceUnavailableException;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CartQuoteTest {
+
+    @Autowired
+    private CartQuoteService cartQuoteService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private StripedStockReader stripedStockReader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Quotes");
+    }
+
+    @Test
+    void quotePricesMergedLinesAndReportsAvailability() {
+        Product plenty = fixtures.createProduct(category, 10, "2.50");
+        Product scarce = fixtures.createProduct(category, 1, "4.00");
+
+        CartQuote quote = cartQuoteService.quote(List.of(
+                item(plenty.getId(), 2),
+                item(scarce.getId(), 2),
+                item(plenty.getId(), 1),
+                item(Long.MAX_VALUE, 1)));
+
+        assertThat(quote.getLines()).extracting(CartQuote.Line::getProductId)
+                .containsExactly(plenty.getId(), scarce.getId(), Long.MAX_VALUE);
+        assertThat(quote.getLines()).extracting(CartQuote.Line::getAvailability).containsExactly(
+                CartQuote.Availability.AVAILABLE,
+                CartQuote.Availability.INSUFFICIENT_STOCK,
+                CartQuote.Availability.NOT_FOUND);
+        assertThat(quote.getLines().get(0).getQuantity()).isEqualTo(3);
+        assertThat(quote.getTotal()).isEqualByComparingTo("15.50");
+        assertThat(quote.isAvailable()).isFalse();
+    }
+
+    @Test
+    void concurrentQuotesShareProductLookups() throws Exception {
+        Product product = fixtures.createProduct(category, 100, "1.00");
+        DistributionSummary requests = meterRegistry.find("quote.batch.requests").summary();
+        long batchesBefore = requests.count();
+        double requestsBefore = requests.totalAmount();
+
+        runConcurrently(20, () -> {
+            CartQuote quote = cartQuoteService.quote(List.of(item(product.getId(), 1)));
+            assertThat(quote.isAvailable()).isTrue();
+            return null;
+        });
+
+        assertThat(requests.totalAmount() - requestsBefore).isEqualTo(20);
+        assertThat(requests.count() - batchesBefore).isLessThan(20);
+    }
+
+    @Test
+    void stalledLookupIsReportedAsUnavailable() {
+        QuoteProperties impatient = new QuoteProperties(Duration.ofMillis(5), 500, 1, Duration.ofMillis(20));
+        ProductLookupBatcher stalled = new ProductLookupBatcher(productRepository, impatient, stripedStockReader,
+                meterRegistry) {
+            @Override
+            public CompletableFuture<Map<Long, ProductDTO>> load(Collection<Long> productIds) {
+                return new CompletableFuture<>();
+            }
+        };
+        try {
+            assertThatThrownBy(() -> new CartQuoteService(stalled, impatient).quote(List.of(item(1L, 1))))
+                    .isInstanceOf(ServiceUnavailableException.class);
+        } finally {
+            stalled.shutdown();
+        }
+    }
+
+    private static CreateOrderRequest.OrderItemRequest item(Long productId, int quantity) {
+        return new CreateOrderRequest.OrderItemRequest(productId, quantity);
+    }
+}
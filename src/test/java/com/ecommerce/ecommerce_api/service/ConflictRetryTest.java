@@ -0,0 +1,136 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.exception.InvalidStatusTransitionException;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ConflictRetryTest {
+
+    @Autowired
+    private ConflictRetryExecutor conflictRetry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Conflicts");
+    }
+
+    @Test
+    void conflictIsRetriedUntilTheWriteCommits() {
+        AtomicInteger attempts = new AtomicInteger();
+        double retriesBefore = count("write.conflict.retries", "test.flaky");
+
+        String result = conflictRetry.execute("test.flaky", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("concurrent write");
+            }
+            return "committed";
+        });
+
+        assertThat(result).isEqualTo("committed");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(count("write.conflict.retries", "test.flaky") - retriesBefore).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedRetriesSurfaceTheConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.run("test.hopeless", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("concurrent write");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts.get()).isEqualTo(4);
+        assertThat(count("write.conflict.exhausted", "test.hopeless")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentProductUpdatesAllCommit() throws Exception {
+        Product product = fixtures.createProduct(category, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Each writer can lose at most once to every other writer, so four attempts always suffice
+        runConcurrently(4, () -> {
+            ProductDTO update = new ProductDTO();
+            update.setName(product.getName());
+            update.setPrice(new BigDecimal("10.0" + calls.getAndIncrement()));
+            update.setStock(10);
+            update.setCategoryId(category.getId());
+            productService.updateProduct(product.getId(), update);
+            return null;
+        });
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getVersion())
+                .isEqualTo(product.getVersion() + 4);
+    }
+
+    @Test
+    void concurrentCancelAndStatusChangeRestoreStockOnce() throws Exception {
+        Product product = fixtures.createProduct(category, 10);
+        OrderDTO order = orderService.createOrder(orderFor(product, 3));
+        AtomicInteger calls = new AtomicInteger();
+
+        runConcurrently(6, () -> {
+            try {
+                if (calls.getAndIncrement() % 2 == 0) {
+                    orderService.cancelOrder(order.getId());
+                } else {
+                    orderService.updateOrderStatus(order.getId(), Order.OrderStatus.PROCESSING);
+                }
+            } catch (InvalidStatusTransitionException ex) {
+                // Lost to a cancellation, re-evaluated against the fresh state
+            }
+            return null;
+        });
+
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus())
+                .isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isEqualTo(10);
+    }
+
+    private double count(String name, String operation) {
+        var counter = meterRegistry.find(name).tag("operation", operation).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LowStockWatcherTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private LowStockWatcher lowStockWatcher;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Low stock");
+    }
+
+    @Test
+    void checkoutAndCancellationMoveProductAcrossItsReorderThreshold() {
+        Product product = createProduct(12, 10);
+        Product lowThreshold = createProduct(5, 3);
+        assertThat(lowStockIds()).doesNotContain(product.getId(), lowThreshold.getId());
+
+        OrderDTO order = orderService.createOrder(orderFor(product, 5));
+        assertThat(productService.getLowStockProducts(null))
+                .filteredOn(dto -> dto.getId().equals(product.getId()))
+                .singleElement()
+                .satisfies(dto -> assertThat(dto.getStock()).isEqualTo(7));
+
+        orderService.cancelOrder(order.getId());
+        assertThat(lowStockIds()).doesNotContain(product.getId());
+        // An explicit threshold still queries every product against it
+        assertThat(productService.getLowStockProducts(6)).extracting(ProductDTO::getId).contains(lowThreshold.getId());
+    }
+
+    @Test
+    void streamSendsSnapshotThenChanges() throws Exception {
+        Product product = createProduct(11, 10);
+        lowStockWatcher.getLowStockProducts();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/products/low-stock/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        // Events are written by the dispatch thread, after poll() has returned
+        await().untilAsserted(() -> assertThat(response.getContentAsString()).startsWith("event:snapshot\n"));
+
+        OrderDTO order = orderService.createOrder(orderFor(product, 2));
+        lowStockWatcher.poll();
+        await().untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains("event:low-stock\ndata:{\"id\":" + product.getId() + ","));
+
+        orderService.cancelOrder(order.getId());
+        lowStockWatcher.poll();
+        await().untilAsserted(() -> assertThat(response.getContentAsString())
+                .contains("event:cleared\ndata:" + product.getId() + "\n"));
+    }
+
+    private List<Long> lowStockIds() {
+        return productService.getLowStockProducts(null).stream().map(ProductDTO::getId).toList();
+    }
+
+    private Product createProduct(int stock, int reorderThreshold) {
+        Product product = fixtures.newProduct(category, stock, "9.99");
+        product.setReorderThreshold(reorderThreshold);
+        return productRepository.save(product);
+    }
+}
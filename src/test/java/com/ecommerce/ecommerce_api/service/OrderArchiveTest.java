@@ -0,0 +1,110 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.entity.ProductSales;
+import com.ecommerce.ecommerce_api.exception.InvalidStatusTransitionException;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import com.ecommerce.ecommerce_api.repository.ProductSalesRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OrderArchiveTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = fixtures.createProduct(fixtures.createCategory("Archive"), 100, "4.00");
+    }
+
+    @Test
+    void settledOldOrdersMoveToTheArchiveAndAreStillFoundById() {
+        OrderDTO delivered = settledOrder(3, Order.OrderStatus.DELIVERED);
+        OrderDTO open = orderService.createOrder(orderFor(product, 2));
+        OrderDTO recent = settledOrder(1, Order.OrderStatus.DELIVERED);
+        backdate(delivered.getId(), 200);
+        backdate(open.getId(), 200);
+        OrderDTO before = orderService.getOrderById(delivered.getId());
+
+        assertThat(orderArchiveService.archive()).isEqualTo(1);
+
+        assertThat(orderRepository.findById(delivered.getId())).isEmpty();
+        assertThat(orderRepository.findById(open.getId())).isPresent();
+        assertThat(orderRepository.findById(recent.getId())).isPresent();
+        assertThat(orderService.getOrderById(delivered.getId())).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(before);
+        assertThatThrownBy(() -> orderService.cancelOrder(delivered.getId()))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+    }
+
+    @Test
+    void salesResetKeepsArchivedOrders() {
+        OrderDTO delivered = settledOrder(5, Order.OrderStatus.DELIVERED);
+        OrderDTO cancelled = settledOrder(7, Order.OrderStatus.CANCELLED);
+        backdate(delivered.getId(), 200);
+        backdate(cancelled.getId(), 200);
+        assertThat(orderArchiveService.archive()).isEqualTo(2);
+
+        transactionTemplate.executeWithoutResult(status -> orderRepository.resetSales());
+
+        assertThat(productSalesRepository.findById(product.getId()))
+                .map(ProductSales::getUnits)
+                .contains(5L);
+    }
+
+    // Settled means the sales aggregates already reflect the final status
+    private OrderDTO settledOrder(int quantity, Order.OrderStatus status) {
+        OrderDTO order = orderService.createOrder(orderFor(product, quantity));
+        if (status == Order.OrderStatus.CANCELLED) {
+            orderService.cancelOrder(order.getId());
+        } else {
+            orderService.updateOrderStatus(order.getId(), status);
+        }
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.reconcileSales(List.of(order.getId())));
+        return order;
+    }
+
+    private void backdate(Long orderId, int days) {
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(days)), orderId);
+    }
+}
@@ -0,0 +1,222 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.OutboxEvent;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.event.OrderCreatedEvent;
+import com.ecommerce.ecommerce_api.event.OrderEventMessage;
+import com.ecommerce.ecommerce_api.event.OrderEventSink;
+import com.ecommerce.ecommerce_api.event.OrderStatusChangedEvent;
+import com.ecommerce.ecommerce_api.exception.InsufficientStockException;
+import com.ecommerce.ecommerce_api.repository.OutboxEventRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.CUSTOMER_EMAIL;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.item;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "app.outbox.publisher.enabled=true",
+        "app.outbox.poll-interval=50ms",
+        "app.outbox.initial-backoff=20ms",
+        "app.outbox.max-backoff=100ms"
+})
+class OrderOutboxTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = fixtures.createProduct(fixtures.createCategory("Outbox"), 100);
+    }
+
+    @Test
+    void orderLifecycleIsPublishedInOrder() {
+        OrderDTO order = orderService.createOrder(orderFor(product, 2));
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.PROCESSING);
+        orderService.cancelOrder(order.getId());
+
+        await().until(() -> sink.eventsFor(order.getId()).size() == 3);
+
+        List<OrderEventMessage> events = sink.eventsFor(order.getId());
+        assertThat(events).extracting(OrderEventMessage::type).containsExactly(
+                OutboxEvent.OrderEventType.ORDER_CREATED,
+                OutboxEvent.OrderEventType.ORDER_STATUS_CHANGED,
+                OutboxEvent.OrderEventType.ORDER_STATUS_CHANGED);
+
+        OrderCreatedEvent created = objectMapper.readValue(events.get(0).payload(), OrderCreatedEvent.class);
+        assertThat(created.totalAmount()).isEqualByComparingTo("19.98");
+        assertThat(created.items()).singleElement()
+                .satisfies(line -> assertThat(line.productId()).isEqualTo(product.getId()));
+
+        OrderStatusChangedEvent cancelled = objectMapper.readValue(events.get(2).payload(), OrderStatusChangedEvent.class);
+        assertThat(cancelled.previousStatus()).isEqualTo(Order.OrderStatus.PROCESSING);
+        assertThat(cancelled.newStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+
+        await().until(() -> outboxEventRepository.findAll().stream()
+                .filter(event -> event.getOrderId().equals(order.getId()))
+                .allMatch(event -> event.getStatus() == OutboxEvent.Status.PUBLISHED));
+    }
+
+    @Test
+    void failingEventIsRetriedWithoutOvertakingWithinItsOrder() {
+        String flakyCustomer = "Flaky " + UUID.randomUUID();
+        sink.failDeliveriesContaining(flakyCustomer, 2);
+        OrderDTO failing = orderService.createOrder(orderFor(flakyCustomer, CUSTOMER_EMAIL, item(product, 1)));
+        orderService.updateOrderStatus(failing.getId(), Order.OrderStatus.PROCESSING);
+        OrderDTO healthy = orderService.createOrder(orderFor(product, 1));
+
+        await().until(() -> sink.eventsFor(failing.getId()).size() == 2);
+
+        assertThat(sink.eventsFor(healthy.getId())).hasSize(1);
+        assertThat(sink.eventsFor(failing.getId())).extracting(OrderEventMessage::type).containsExactly(
+                OutboxEvent.OrderEventType.ORDER_CREATED,
+                OutboxEvent.OrderEventType.ORDER_STATUS_CHANGED);
+        await().until(() -> outboxEventRepository.findAll().stream()
+                .filter(event -> event.getOrderId().equals(failing.getId()))
+                .allMatch(event -> event.getStatus() == OutboxEvent.Status.PUBLISHED));
+        assertThat(outboxEventRepository.findAll().stream()
+                .filter(event -> event.getOrderId().equals(failing.getId()))
+                .mapToInt(OutboxEvent::getAttempts)
+                .sum()).isEqualTo(3);
+    }
+
+    @Test
+    void failedEventHoldsBackTheRestOfItsOrder() {
+        String brokenCustomer = "Broken " + UUID.randomUUID();
+        sink.failDeliveriesContaining(brokenCustomer, Integer.MAX_VALUE);
+        OrderDTO failing = orderService.createOrder(orderFor(brokenCustomer, CUSTOMER_EMAIL, item(product, 1)));
+        orderService.updateOrderStatus(failing.getId(), Order.OrderStatus.PROCESSING);
+        OrderDTO healthy = orderService.createOrder(orderFor(product, 1));
+
+        await().until(() -> eventsOf(failing.getId()).get(0).getStatus() == OutboxEvent.Status.FAILED);
+        await().until(() -> sink.eventsFor(healthy.getId()).size() == 1);
+
+        List<OutboxEvent> events = eventsOf(failing.getId());
+        assertThat(events.get(0).getAttempts()).isEqualTo(10);
+        assertThat(events.get(1).getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(events.get(1).getAttempts()).isZero();
+        assertThat(sink.eventsFor(failing.getId())).isEmpty();
+    }
+
+    @Test
+    void lateOutcomeDoesNotOverwriteAnotherPublishersClaim() {
+        String slowCustomer = "Slow " + UUID.randomUUID();
+        // While this delivery runs past its lease, another publisher claims and publishes the event
+        sink.beforeDeliveryContaining(slowCustomer, event -> jdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'PUBLISHED', published_at = ?, attempts = 1, " +
+                "next_attempt_at = ? WHERE id = ?", LocalDateTime.now(), LocalDateTime.now(), event.eventId()));
+        sink.failDeliveriesContaining(slowCustomer, Integer.MAX_VALUE);
+        OrderDTO order = orderService.createOrder(orderFor(slowCustomer, CUSTOMER_EMAIL, item(product, 1)));
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.PROCESSING);
+
+        await().until(() -> eventsOf(order.getId()).get(1).getStatus() == OutboxEvent.Status.PUBLISHED);
+
+        OutboxEvent created = eventsOf(order.getId()).get(0);
+        assertThat(created.getStatus()).isEqualTo(OutboxEvent.Status.PUBLISHED);
+        assertThat(created.getAttempts()).isEqualTo(1);
+        assertThat(created.getLastError()).isNull();
+    }
+
+    @Test
+    void rolledBackCheckoutRecordsNoEvent() {
+        long before = outboxEventRepository.count();
+
+        assertThatThrownBy(() -> orderService.createOrder(orderFor(product, 1000)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(before);
+    }
+
+    private List<OutboxEvent> eventsOf(Long orderId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getOrderId().equals(orderId))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OrderEventSink {
+
+        private final List<OrderEventMessage> received = new CopyOnWriteArrayList<>();
+        private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+        private final Map<String, Consumer<OrderEventMessage>> interceptors = new ConcurrentHashMap<>();
+
+        @Override
+        public void deliver(List<OrderEventMessage> events) {
+            for (OrderEventMessage event : events) {
+                interceptors.forEach((marker, interceptor) -> {
+                    if (event.payload().contains(marker)) {
+                        interceptor.accept(event);
+                    }
+                });
+                for (Map.Entry<String, AtomicInteger> failure : failures.entrySet()) {
+                    if (event.payload().contains(failure.getKey()) && failure.getValue().getAndDecrement() > 0) {
+                        throw new IllegalStateException("Sink unavailable for order " + event.orderId());
+                    }
+                }
+            }
+            received.addAll(events);
+        }
+
+        void failDeliveriesContaining(String marker, int times) {
+            failures.put(marker, new AtomicInteger(times));
+        }
+
+        void beforeDeliveryContaining(String marker, Consumer<OrderEventMessage> interceptor) {
+            interceptors.put(marker, interceptor);
+        }
+
+        List<OrderEventMessage> eventsFor(Long orderId) {
+            return received.stream().filter(event -> event.orderId().equals(orderId)).toList();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.entity.ProductSales;
+import com.ecommerce.ecommerce_api.exception.InsufficientStockException;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.repository.ProductSalesRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.item;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Concurrency");
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        Product product = fixtures.createProduct(category, 10);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, 40, () -> {
+            try {
+                orderService.createOrder(orderFor(item(product, 1)));
+                succeeded.incrementAndGet();
+            } catch (InsufficientStockException ex) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(succeeded.get()).isEqualTo(10);
+        assertThat(rejected.get()).isEqualTo(30);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void crossingCartsDoNotDeadlock() throws Exception {
+        Product first = fixtures.createProduct(category, 100);
+        Product second = fixtures.createProduct(category, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        runConcurrently(THREADS, 40, () -> {
+            CreateOrderRequest request = calls.getAndIncrement() % 2 == 0
+                    ? orderFor(item(first, 1), item(second, 1))
+                    : orderFor(item(second, 1), item(first, 1));
+            orderService.createOrder(request);
+            return null;
+        });
+
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStock()).isEqualTo(60);
+        assertThat(productRepository.findById(second.getId()).orElseThrow().getStock()).isEqualTo(60);
+    }
+
+    @Test
+    void rejectedCartLeavesEveryLineUntouched() {
+        Product plenty = fixtures.createProduct(category, 50);
+        Product scarce = fixtures.createProduct(category, 1);
+
+        assertThatThrownBy(() -> orderService.createOrder(orderFor(item(plenty, 5), item(scarce, 2))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(productRepository.findById(plenty.getId()).orElseThrow().getStock()).isEqualTo(50);
+        assertThat(productRepository.findById(scarce.getId()).orElseThrow().getStock()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateLinesAreReservedTogether() {
+        Product product = fixtures.createProduct(category, 5);
+
+        assertThatThrownBy(() -> orderService.createOrder(orderFor(item(product, 3), item(product, 3))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        orderService.createOrder(orderFor(item(product, 2), item(product, 3)));
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void concurrentSalesReconciliationsCreateEachAggregateRowOnce() throws Exception {
+        Product product = fixtures.createProduct(category, 100);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            orderIds.add(orderService.createOrder(orderFor(item(product, 1))).getId());
+        }
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            Long orderId = orderIds.get(next.getAndIncrement());
+            transactionTemplate.executeWithoutResult(status -> orderRepository.reconcileSales(List.of(orderId)));
+            return null;
+        });
+
+        assertThat(productSalesRepository.findById(product.getId()))
+                .map(ProductSales::getUnits)
+                .contains((long) THREADS);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.CUSTOMER_NAME;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.item;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 8;
+    private static final int ITEMS_PER_ORDER = 4;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String customerEmail;
+
+    @BeforeEach
+    void setUp() {
+        Category category = fixtures.createCategory("Listing");
+        CreateOrderRequest.OrderItemRequest[] items = new CreateOrderRequest.OrderItemRequest[ITEMS_PER_ORDER];
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items[i] = item(fixtures.createProduct(category, 1000, "5.00"), 1);
+        }
+
+        customerEmail = UUID.randomUUID() + "@example.com";
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(orderFor(CUSTOMER_NAME, customerEmail, items));
+        }
+    }
+
+    @Test
+    void orderPageIsLoadedInBoundedStatements() {
+        Statistics statistics = statistics();
+
+        Page<OrderDTO> page = orderService.getOrdersByCustomerEmail(customerEmail,
+                PageRequest.of(0, 5, Sort.by("createdAt").descending()));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        assertThat(page.getContent()).allSatisfy(order -> {
+            assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER);
+            assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getProductName()).isNotNull());
+        });
+        // id page + count + one fetch of orders, items and products
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void pageOrderFollowsRequestedSort() {
+        Page<OrderDTO> page = orderService.getOrdersByCustomerEmail(customerEmail,
+                PageRequest.of(0, ORDERS, Sort.by("id").ascending()));
+
+        List<Long> ids = page.getContent().stream().map(OrderDTO::getId).toList();
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        Statistics statistics = statistics();
+
+        orderService.getOrdersByStatus(Order.OrderStatus.PENDING, PageRequest.of(0, 50, Sort.by("createdAt")));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void scrollWalksEveryOrderNewestFirstWithoutCounting() {
+        Statistics statistics = statistics();
+
+        List<OrderDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderDTO> page = orderService.scrollOrders(null, customerEmail, cursor, 3);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(ORDERS);
+        assertThat(seen).extracting(OrderDTO::getId).doesNotHaveDuplicates()
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        // one id seek plus one batch fetch per page, no count query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * pages);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_api.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// Runs the search tests against the generated search_vector column and its GIN index
+@SpringBootTest(properties = {
+        "app.search.engine=postgres",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresProductSearchTest extends ProductSearchTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.config.CacheConfig;
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.math.BigDecimal;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ProductDTO product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = fixtures.createCategory("Cache");
+        product = productService.createProduct(new ProductDTO(null, "Cached product", null,
+                new BigDecimal("10.00"), 20, null, category.getId(), null, null, null));
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        CacheStats before = stats();
+
+        productService.getProductById(product.getId());
+        productService.getProductById(product.getId());
+
+        CacheStats after = stats().minus(before);
+        assertThat(after.missCount()).isEqualTo(1);
+        assertThat(after.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateInvalidatesEntry() {
+        productService.getProductById(product.getId());
+
+        product.setName("Renamed product");
+        productService.updateProduct(product.getId(), product);
+
+        assertThat(productService.getProductById(product.getId()).getName()).isEqualTo("Renamed product");
+    }
+
+    @Test
+    void orderCreationAndCancellationInvalidateStock() {
+        productService.getProductById(product.getId());
+
+        OrderDTO order = orderService.createOrder(
+                orderFor(new CreateOrderRequest.OrderItemRequest(product.getId(), 5)));
+        assertThat(productService.getProductById(product.getId()).getStock()).isEqualTo(15);
+
+        orderService.cancelOrder(order.getId());
+        assertThat(productService.getProductById(product.getId()).getStock()).isEqualTo(20);
+    }
+
+    private CacheStats stats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        return cache.getNativeCache().stats();
+    }
+}
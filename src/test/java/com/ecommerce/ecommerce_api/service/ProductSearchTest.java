@@ -0,0 +1,135 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.dto.ProductSearchResult;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductSearchTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Category category;
+    private Category otherCategory;
+
+    // Unique per test so products created by other tests never match
+    private String term;
+
+    @BeforeEach
+    void setUp() {
+        category = createCategory();
+        otherCategory = createCategory();
+        term = "lamp" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatchesAndAreHighlighted() {
+        ProductDTO inDescription = createProduct("Desk light", "A " + term + " for reading", "30.00", category);
+        ProductDTO inName = createProduct("Brass " + term, "Warm light", "40.00", category);
+
+        CursorPage<ProductSearchResult> page = search(term, null, null, null, null, 10);
+
+        assertThat(page.getContent()).extracting(result -> result.getProduct().getId())
+                .containsExactly(inName.getId(), inDescription.getId());
+        ProductSearchResult best = page.getContent().get(0);
+        assertThat(best.getRank()).isGreaterThan(page.getContent().get(1).getRank());
+        assertThat(best.getHighlightedName()).isEqualTo("Brass <mark>" + term + "</mark>");
+        assertThat(best.getProduct().getCategoryName()).isEqualTo(category.getName());
+    }
+
+    @Test
+    void bestMatchIsFoundAmongManyWeakerOnes() {
+        for (int i = 0; i < 30; i++) {
+            createProduct("Item " + i, "Goes with a " + term, "10.00", category);
+        }
+        ProductDTO inName = createProduct(term + " deluxe", null, "10.00", category);
+
+        assertThat(search(term, null, null, null, null, 1).getContent())
+                .extracting(result -> result.getProduct().getId())
+                .containsExactly(inName.getId());
+    }
+
+    @Test
+    void categoryAndPriceFiltersCombineWithTheQuery() {
+        ProductDTO match = createProduct(term + " table", null, "25.00", category);
+        createProduct(term + " chair", null, "80.00", category);
+        createProduct(term + " stool", null, "25.00", otherCategory);
+
+        CursorPage<ProductSearchResult> page = search(term, category.getId(),
+                new BigDecimal("10.00"), new BigDecimal("50.00"), null, 10);
+
+        assertThat(page.getContent()).extracting(result -> result.getProduct().getId())
+                .containsExactly(match.getId());
+    }
+
+    @Test
+    void allTermsMustMatchAndChangesAreVisibleToTheNextSearch() {
+        ProductDTO product = createProduct(term + " shade", "Linen", "15.00", category);
+        createProduct(term + " base", "Oak", "15.00", category);
+
+        assertThat(search(term + " linen", null, null, null, null, 10).getContent())
+                .extracting(result -> result.getProduct().getId())
+                .containsExactly(product.getId());
+
+        product.setDescription("Cotton");
+        productService.updateProduct(product.getId(), product);
+        assertThat(search(term + " linen", null, null, null, null, 10).getContent()).isEmpty();
+
+        productService.deleteProduct(product.getId());
+        assertThat(search(term, null, null, null, null, 10).getContent()).hasSize(1);
+    }
+
+    @Test
+    void cursorContinuesThroughTheRanking() {
+        for (int i = 0; i < 5; i++) {
+            createProduct(term + " " + i, null, "10.00", category);
+        }
+
+        CursorPage<ProductSearchResult> first = search(term, null, null, null, null, 3);
+        CursorPage<ProductSearchResult> second = search(term, null, null, null, first.getNextCursor(), 3);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.getContent()).extracting(result -> result.getProduct().getId())
+                .doesNotContainAnyElementsOf(first.getContent().stream()
+                        .map(result -> result.getProduct().getId()).toList());
+    }
+
+    private CursorPage<ProductSearchResult> search(String text, Long categoryId, BigDecimal minPrice,
+                                                   BigDecimal maxPrice, String cursor, int size) {
+        return productSearchService.search(text, categoryId, minPrice, maxPrice, cursor, size);
+    }
+
+    private Category createCategory() {
+        return fixtures.createCategory("Search");
+    }
+
+    private ProductDTO createProduct(String name, String description, String price, Category productCategory) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal(price));
+        product.setStock(10);
+        product.setCategoryId(productCategory.getId());
+        return productService.createProduct(product);
+    }
+}
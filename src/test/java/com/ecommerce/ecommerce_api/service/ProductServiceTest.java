@@ -0,0 +1,168 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CursorPage;
+import com.ecommerce.ecommerce_api.dto.FacetedProductPage;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.dto.ProductFilter;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.exception.InvalidCursorException;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class ProductServiceTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = createCategory();
+        createProduct("Keyboard", "49.90");
+        createProduct("Monitor", "199.00");
+        createProduct("Mouse", "19.90");
+    }
+
+    @Test
+    void categoryPageIsProjectedWithCategoryName() {
+        Page<ProductDTO> page = productService.getProductsByCategory(category.getId(),
+                PageRequest.of(0, 2, Sort.by("price").descending()));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(ProductDTO::getName).containsExactly("Monitor", "Keyboard");
+        assertThat(page.getContent()).allSatisfy(product -> {
+            assertThat(product.getCategoryId()).isEqualTo(category.getId());
+            assertThat(product.getCategoryName()).isEqualTo(category.getName());
+        });
+    }
+
+    @Test
+    void priceRangeIsProjected() {
+        Page<ProductDTO> page = productService.getProductsByPriceRange(new BigDecimal("19.00"), new BigDecimal("50.00"),
+                PageRequest.of(0, 100, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(ProductDTO::getName).contains("Keyboard", "Mouse")
+                .doesNotContain("Monitor");
+    }
+
+    @Test
+    void filtersCombineInOneQuery() {
+        String prefix = "Filter" + UUID.randomUUID();
+        Category other = createCategory();
+        Product cheap = createProduct(prefix + " lamp", "10.00", 5, category);
+        Product soldOut = createProduct(prefix + " vase", "30.00", 0, category);
+        createProduct(prefix + " rug", "30.00", 5, other);
+        createProduct(prefix + " shelf", "60.00", 5, category);
+
+        ProductFilter filter = new ProductFilter(Set.of(category.getId()), null, new BigDecimal("40.00"), false,
+                prefix.toLowerCase(), null);
+        assertThat(productService.filterProducts(filter, PageRequest.of(0, 10, Sort.by("id"))).getContent())
+                .extracting(ProductDTO::getId).containsExactly(cheap.getId(), soldOut.getId());
+
+        filter.setInStock(true);
+        assertThat(productService.filterProducts(filter, PageRequest.of(0, 10, Sort.by("id"))).getContent())
+                .extracting(ProductDTO::getName).containsExactly(cheap.getName());
+    }
+
+    @Test
+    void facetsLeaveTheirOwnCriterionOut() {
+        String prefix = "Facet" + UUID.randomUUID();
+        Category other = createCategory();
+        createProduct(prefix + " lamp", "10.00", 5, category);
+        createProduct(prefix + " vase", "30.00", 5, category);
+        createProduct(prefix + " rug", "30.00", 5, other);
+        createProduct(prefix + " shelf", "60.00", 5, other);
+
+        ProductFilter filter = new ProductFilter(Set.of(category.getId()), new BigDecimal("20.00"),
+                new BigDecimal("40.00"), false, prefix, null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        FacetedProductPage page = productService.filterProductsWithFacets(filter, PageRequest.of(0, 10));
+
+        // page slice with its categories + facet counts, which also give the total
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getTotalPages()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(ProductDTO::getName).containsExactly(prefix + " vase");
+        assertThat(page.getCategories())
+                .extracting(FacetedProductPage.CategoryFacet::getCategoryId, FacetedProductPage.CategoryFacet::getCount)
+                .containsExactlyInAnyOrder(tuple(category.getId(), 1L), tuple(other.getId(), 1L));
+        assertThat(page.getPrices()).extracting(FacetedProductPage.PriceFacet::getCount)
+                .containsExactly(1L, 1L, 0L, 0L, 0L, 0L);
+        assertThat(page.getPrices().get(1).getFrom()).isEqualByComparingTo("25");
+        assertThat(page.getPrices().get(1).getTo()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void scrollSeeksPastLastId() {
+        CursorPage<ProductDTO> first = productService.scrollProducts(category.getId(), null, 2);
+        assertThat(first.getContent()).extracting(ProductDTO::getName).containsExactly("Keyboard", "Monitor");
+        assertThat(first.isHasNext()).isTrue();
+
+        CursorPage<ProductDTO> second = productService.scrollProducts(category.getId(), first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting(ProductDTO::getName).containsExactly("Mouse");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void scrollSizeIsClamped() {
+        for (int i = 0; i < CursorPage.MAX_SIZE; i++) {
+            createProduct("Bulk " + i, "1.00");
+        }
+
+        assertThat(productService.scrollProducts(category.getId(), null, Integer.MAX_VALUE).getContent())
+                .hasSize(CursorPage.MAX_SIZE);
+        assertThat(productService.scrollProducts(category.getId(), null, 0).getContent()).hasSize(1);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> productService.scrollProducts(null, "not a cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private void createProduct(String name, String price) {
+        createProduct(name, price, 10, category);
+    }
+
+    private Product createProduct(String name, String price, int stock, Category productCategory) {
+        Product product = fixtures.newProduct(productCategory, stock, price);
+        product.setName(name);
+        return productRepository.save(product);
+    }
+
+    private Category createCategory() {
+        return fixtures.createCategory("Catalog");
+    }
+}
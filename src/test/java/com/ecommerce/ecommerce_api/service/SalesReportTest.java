@@ -0,0 +1,129 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.CategorySalesDTO;
+import com.ecommerce.ecommerce_api.dto.DailySalesDTO;
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Order;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.entity.ProductSales;
+import com.ecommerce.ecommerce_api.repository.OrderRepository;
+import com.ecommerce.ecommerce_api.repository.ProductSalesRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.item;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "app.outbox.publisher.enabled=true",
+        "app.outbox.poll-interval=50ms"
+})
+class SalesReportTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private SalesAggregateRebuildService rebuildService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    private Category category;
+    private Product cheap;
+    private Product expensive;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Reports");
+        cheap = fixtures.createProduct(category, 100, "5.00");
+        expensive = fixtures.createProduct(category, 100, "50.00");
+    }
+
+    @Test
+    void aggregatesFollowCreatedAndCancelledOrders() {
+        orderService.createOrder(orderFor(item(cheap, 3), item(expensive, 1)));
+        orderService.createOrder(orderFor(item(cheap, 2)));
+        OrderDTO cancelled = orderService.createOrder(orderFor(item(expensive, 4)));
+        orderService.cancelOrder(cancelled.getId());
+
+        await().until(() -> units(expensive) == 1 && units(cheap) == 5);
+
+        assertThat(salesReportService.getTopProducts(1000))
+                .filteredOn(row -> row.getProductId().equals(cheap.getId()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getProductName()).isEqualTo(cheap.getName());
+                    assertThat(row.getRevenue()).isEqualByComparingTo("25.00");
+                });
+        CategorySalesDTO categorySales = categorySales();
+        assertThat(categorySales.getUnits()).isEqualTo(6);
+        assertThat(categorySales.getRevenue()).isEqualByComparingTo("75.00");
+        assertDailyMatchesOrders();
+    }
+
+    @Test
+    void rebuildWithResetReproducesTheIncrementalAggregates() {
+        orderService.createOrder(orderFor(item(cheap, 1), item(expensive, 2)));
+        OrderDTO cancelled = orderService.createOrder(orderFor(item(cheap, 7)));
+        orderService.updateOrderStatus(cancelled.getId(), Order.OrderStatus.CANCELLED);
+        await().until(() -> units(expensive) == 2 && units(cheap) == 1);
+        CategorySalesDTO incremental = categorySales();
+
+        rebuildService.start(true);
+        await().until(() -> !rebuildService.getStatus().isRunning());
+
+        assertThat(rebuildService.getStatus().getError()).isNull();
+        assertThat(rebuildService.getStatus().getProcessedOrders()).isGreaterThanOrEqualTo(2);
+        CategorySalesDTO rebuilt = categorySales();
+        assertThat(rebuilt.getUnits()).isEqualTo(incremental.getUnits()).isEqualTo(3);
+        assertThat(rebuilt.getRevenue()).isEqualByComparingTo(incremental.getRevenue());
+        assertThat(units(cheap)).isEqualTo(1);
+        assertDailyMatchesOrders();
+    }
+
+    private void assertDailyMatchesOrders() {
+        LocalDate today = LocalDate.now();
+        List<Order> counted = orderRepository.findAll().stream()
+                .filter(order -> order.getStatus() != Order.OrderStatus.CANCELLED)
+                .filter(order -> order.getCreatedAt().toLocalDate().equals(today))
+                .toList();
+        await().until(() -> salesReportService.getDailyRevenue(today, today).stream()
+                .mapToLong(DailySalesDTO::getOrders).sum() == counted.size());
+
+        DailySalesDTO daily = salesReportService.getDailyRevenue(today, today).get(0);
+        assertThat(daily.getRevenue()).isEqualByComparingTo(counted.stream()
+                .map(Order::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private CategorySalesDTO categorySales() {
+        return salesReportService.getRevenueByCategory().stream()
+                .filter(row -> row.getCategoryId().equals(category.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long units(Product product) {
+        return productSalesRepository.findById(product.getId()).map(ProductSales::getUnits).orElse(0L);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.ecommerce_api.service;
+
+import com.ecommerce.ecommerce_api.dto.OrderDTO;
+import com.ecommerce.ecommerce_api.dto.ProductDTO;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.exception.InsufficientStockException;
+import com.ecommerce.ecommerce_api.exception.InvalidStockOperationException;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ecommerce.ecommerce_api.support.TestFixtures.orderFor;
+import static com.ecommerce.ecommerce_api.support.TestFixtures.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.inventory.striping.enabled=true")
+class StockStripingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.createCategory("Striping");
+    }
+
+    @Test
+    void stripingMovesStockIntoBucketsAndReadsAggregateThem() {
+        Product product = fixtures.createProduct(category, 10);
+
+        ProductDTO striped = productService.stripeStock(product.getId(), 4);
+
+        assertThat(striped.getStock()).isEqualTo(10);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+        assertThat(productService.getProductById(product.getId()).getStock()).isEqualTo(10);
+        assertThat(productService.getProductsByCategory(category.getId(), Pageable.unpaged())
+                .getContent()).extracting(ProductDTO::getStock).containsExactly(10);
+    }
+
+    @Test
+    void lowStockThresholdCountsBucketStock() {
+        Product product = fixtures.createProduct(category, 10);
+        productService.stripeStock(product.getId(), 4);
+
+        assertThat(productService.getLowStockProducts(5)).extracting(ProductDTO::getId)
+                .doesNotContain(product.getId());
+        assertThat(productService.getLowStockProducts(11))
+                .filteredOn(dto -> dto.getId().equals(product.getId()))
+                .extracting(ProductDTO::getStock).containsExactly(10);
+    }
+
+    @Test
+    void concurrentCheckoutsOnAStripedProductNeverOversell() throws Exception {
+        Product product = fixtures.createProduct(category, 20);
+        productService.stripeStock(product.getId(), 4);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(8, 30, () -> {
+            try {
+                orderService.createOrder(orderFor(product, 1));
+                succeeded.incrementAndGet();
+            } catch (InsufficientStockException ex) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(succeeded.get()).isEqualTo(20);
+        assertThat(rejected.get()).isEqualTo(10);
+        assertThat(productRepository.sumBucketStock(List.of(product.getId()))).containsEntry(product.getId(), 0);
+    }
+
+    @Test
+    void quantityLargerThanAnyBucketDrainsAcrossBuckets() {
+        Product product = fixtures.createProduct(category, 10);
+        productService.stripeStock(product.getId(), 4);
+
+        orderService.createOrder(orderFor(product, 9));
+
+        assertThat(productRepository.sumBucketStock(List.of(product.getId()))).containsEntry(product.getId(), 1);
+        assertThatThrownBy(() -> orderService.createOrder(orderFor(product, 2)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Available: 1");
+    }
+
+    @Test
+    void cancellingReturnsStockToTheBucketsAndUnstripingFoldsItBack() {
+        Product product = fixtures.createProduct(category, 8);
+        productService.stripeStock(product.getId(), 2);
+
+        OrderDTO order = orderService.createOrder(orderFor(product, 5));
+        orderService.cancelOrder(order.getId());
+
+        assertThat(productRepository.sumBucketStock(List.of(product.getId()))).containsEntry(product.getId(), 8);
+
+        ProductDTO unstriped = productService.unstripeStock(product.getId());
+
+        assertThat(unstriped.getStock()).isEqualTo(8);
+        assertThat(productRepository.sumBucketStock(List.of(product.getId()))).isEmpty();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isEqualTo(8);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "app.inventory.striping.enabled=false")
+    class WhenStripingIsTurnedOff {
+
+        @Test
+        void productsStripedEarlierKeepUsingTheirBuckets() {
+            // Striped while the mode was on: the stock lives in the buckets only
+            Product product = fixtures.createProduct(category, 0);
+            productRepository.replaceBuckets(product.getId(), 6, 3);
+
+            assertThat(productService.getProductById(product.getId()).getStock()).isEqualTo(6);
+
+            OrderDTO order = orderService.createOrder(orderFor(product, 4));
+            assertThat(productRepository.sumBucketStock(List.of(product.getId()))).containsEntry(product.getId(), 2);
+
+            orderService.cancelOrder(order.getId());
+            assertThat(productRepository.sumBucketStock(List.of(product.getId()))).containsEntry(product.getId(), 6);
+            assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+            assertThatThrownBy(() -> productService.stripeStock(product.getId(), 2))
+                    .isInstanceOf(InvalidStockOperationException.class);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.ecommerce_api.support;
+
+import com.ecommerce.ecommerce_api.dto.CreateOrderRequest;
+import com.ecommerce.ecommerce_api.entity.Category;
+import com.ecommerce.ecommerce_api.entity.Product;
+import com.ecommerce.ecommerce_api.repository.CategoryRepository;
+import com.ecommerce.ecommerce_api.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog and order fixtures shared by the integration tests. Names carry a random
+ * suffix, so tests sharing a cached application context never collide on them.
+ */
+@Component
+public class TestFixtures {
+
+    public static final String CUSTOMER_NAME = "Test Customer";
+    public static final String CUSTOMER_EMAIL = "customer@example.com";
+    public static final String SHIPPING_ADDRESS = "123 Test Street, Test City";
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    public TestFixtures(CategoryRepository categoryRepository, ProductRepository productRepository) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+    }
+
+    public Category createCategory(String prefix) {
+        Category category = new Category();
+        category.setName(prefix + " " + UUID.randomUUID());
+        return categoryRepository.save(category);
+    }
+
+    public Product createProduct(Category category, int stock) {
+        return createProduct(category, stock, "9.99");
+    }
+
+    public Product createProduct(Category category, int stock, String price) {
+        return productRepository.save(newProduct(category, stock, price));
+    }
+
+    // Unsaved, for tests that set further fields first
+    public Product newProduct(Category category, int stock, String price) {
+        Product product = new Product();
+        product.setName("Product " + UUID.randomUUID());
+        product.setPrice(new BigDecimal(price));
+        product.setStock(stock);
+        product.setCategory(category);
+        return product;
+    }
+
+    public static CreateOrderRequest.OrderItemRequest item(Product product, int quantity) {
+        return new CreateOrderRequest.OrderItemRequest(product.getId(), quantity);
+    }
+
+    public static CreateOrderRequest orderFor(Product product, int quantity) {
+        return orderFor(item(product, quantity));
+    }
+
+    public static CreateOrderRequest orderFor(CreateOrderRequest.OrderItemRequest... items) {
+        return orderFor(CUSTOMER_NAME, CUSTOMER_EMAIL, items);
+    }
+
+    public static CreateOrderRequest orderFor(String customerName, String customerEmail,
+                                              CreateOrderRequest.OrderItemRequest... items) {
+        return new CreateOrderRequest(customerName, customerEmail, SHIPPING_ADDRESS, List.of(items));
+    }
+
+    /**
+     * Runs {@code tasks} copies of {@code task} on their own threads, released together so
+     * they contend for the same rows, and rethrows the first failure.
+     */
+    public static void runConcurrently(int tasks, Callable<Void> task) throws Exception {
+        runConcurrently(tasks, tasks, task);
+    }
+
+    public static void runConcurrently(int threads, int tasks, Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
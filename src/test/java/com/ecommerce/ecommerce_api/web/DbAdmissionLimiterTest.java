@@ -0,0 +1,51 @@
+package com.ecommerce.ecommerce_api.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbAdmissionLimiterTest {
+
+    @Test
+    void rejectsWhenNoPermitFreesUpWithinTheQueueTimeout() throws Exception {
+        DbAdmissionLimiter limiter = new DbAdmissionLimiter(1, Duration.ofMillis(50));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(limiter.getActive()).isEqualTo(1);
+        assertThat(limiter.getAdmitted()).isEqualTo(1);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void queuedRequestIsAdmittedOnceAPermitIsReleased() throws Exception {
+        DbAdmissionLimiter limiter = new DbAdmissionLimiter(1, Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueued() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        limiter.release();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getAdmitted()).isEqualTo(2);
+        assertThat(limiter.getRejected()).isZero();
+        assertThat(limiter.getQueued()).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.ecommerce_api.web;
+
+import com.ecommerce.ecommerce_api.support.TestFixtures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.request-metrics.n-plus-one-threshold=1")
+@AutoConfigureMockMvc
+class RequestMetricsInterceptorTest {
+
+    private static final String HANDLER = "ProductController.getAllProducts";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.createProduct(fixtures.createCategory("Metrics"), 5);
+    }
+
+    @Test
+    void recordsLatencyAndQueryCountsPerControllerMethod() throws Exception {
+        mockMvc.perform(get("/api/products?page=0&size=1")).andExpect(status().isOk());
+        Timer latency = meterRegistry.get("app.request.latency").tag("handler", HANDLER).timer();
+        DistributionSummary statements = meterRegistry.get("app.request.sql.statements").tag("handler", HANDLER).summary();
+        Counter flagged = meterRegistry.counter("app.request.n-plus-one", "handler", HANDLER);
+        long requests = latency.count();
+        double statementTotal = statements.totalAmount();
+        double flaggedTotal = flagged.count();
+
+        mockMvc.perform(get("/api/products?page=0&size=1")).andExpect(status().isOk());
+
+        assertThat(latency.count()).isEqualTo(requests + 1);
+        assertThat(statements.count()).isEqualTo(requests + 1);
+        assertThat(statements.totalAmount() - statementTotal).isGreaterThanOrEqualTo(2);
+        // The full page and its count query exceed the threshold of one statement
+        assertThat(flagged.count()).isEqualTo(flaggedTotal + 1);
+    }
+
+    @Test
+    void countsJdbcTemplateStatements() {
+        RequestQueryStats.begin();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        jdbcTemplate.update("UPDATE products SET stock = stock WHERE id = -1");
+        RequestQueryStats stats = RequestQueryStats.end();
+
+        assertThat(stats.getStatements()).isEqualTo(2);
+    }
+
+    @Test
+    void metricsAreExposedInPrometheusFormat() throws Exception {
+        mockMvc.perform(get("/api/products?page=0&size=1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "app_request_latency_seconds_bucket{handler=\"" + HANDLER + "\",le=")))
+                .andExpect(content().string(containsString("app_request_sql_statements_count{handler=\"" + HANDLER)))
+                // Both caches share the cache.* meters, so their tag keys must match
+                .andExpect(content().string(containsString("cache_size{cache=\"products\"")))
+                .andExpect(content().string(containsString("cache_size{cache=\"idempotency\"")));
+    }
+}
@@ -0,0 +1,63 @@
+-- H2 counterpart of db/migration/postgresql/V1, for the tests; enum columns follow
+-- Hibernate's H2 mapping.
+
+create table categories (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    description varchar(500),
+    name varchar(100) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table order_items (
+    id bigint generated by default as identity,
+    quantity integer not null,
+    subtotal numeric(10,2) not null,
+    unit_price numeric(10,2) not null,
+    order_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+);
+
+create table orders (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    customer_email varchar(150) not null,
+    customer_name varchar(100) not null,
+    shipping_address varchar(200) not null,
+    status enum ('CANCELLED','DELIVERED','PENDING','PROCESSING','SHIPPED') not null,
+    total_amount numeric(10,2) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table products (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    description varchar(1000),
+    name varchar(200) not null,
+    price numeric(10,2) not null,
+    stock integer not null,
+    updated_at timestamp(6),
+    category_id bigint not null,
+    primary key (id)
+);
+
+alter table if exists categories
+    add constraint ukt8o6pivur7nn124jehx7cygw5 unique (name);
+
+alter table if exists order_items
+    add constraint fkbioxgbv59vetrxe0ejfubep1w
+    foreign key (order_id)
+    references orders;
+
+alter table if exists order_items
+    add constraint fkocimc7dtr037rh4ls4l95nlfi
+    foreign key (product_id)
+    references products;
+
+alter table if exists products
+    add constraint fkog2rp4qthbtt2lfyhfo32lsw9
+    foreign key (category_id)
+    references categories;
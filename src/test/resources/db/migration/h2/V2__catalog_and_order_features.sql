@@ -0,0 +1,113 @@
+-- H2 counterpart of db/migration/postgresql/V2. H2 has no text search or partitioning,
+-- and the test databases start empty, so the product sequence starts at 1.
+
+alter table products add column version bigint default 0 not null;
+
+alter table products add column reorder_threshold integer default 10 not null;
+
+alter table orders add column version bigint default 0 not null;
+
+alter table orders add column sales_counted boolean default false not null;
+
+alter table products alter column id drop identity;
+
+create sequence products_seq start with 1 increment by 50;
+
+create table product_stock_buckets (
+    bucket_no integer not null,
+    stock integer not null,
+    product_id bigint not null,
+    primary key (bucket_no, product_id)
+);
+
+alter table if exists product_stock_buckets
+    add constraint fk_product_stock_buckets_product
+    foreign key (product_id)
+    references products
+    on delete cascade;
+
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create table outbox_events (
+    attempts integer not null,
+    created_at timestamp(6),
+    id bigint not null,
+    next_attempt_at timestamp(6) not null,
+    order_id bigint not null,
+    published_at timestamp(6),
+    last_error varchar(1000),
+    payload TEXT not null,
+    event_type enum ('ORDER_CREATED','ORDER_STATUS_CHANGED') not null,
+    status enum ('FAILED','PENDING','PUBLISHED') not null,
+    primary key (id)
+);
+
+create index idx_outbox_events_status_next_attempt
+    on outbox_events (status, next_attempt_at);
+
+create index idx_outbox_events_order_id
+    on outbox_events (order_id, id);
+
+create table idempotency_keys (
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    order_id bigint,
+    key_hash varchar(32) not null,
+    request_hash varchar(32) not null,
+    response_body TEXT,
+    primary key (key_hash)
+);
+
+create index idx_idempotency_keys_expires_at
+    on idempotency_keys (expires_at);
+
+create table sales_by_category (
+    revenue numeric(14,2) not null,
+    category_id bigint not null,
+    units bigint not null,
+    primary key (category_id)
+);
+
+create table sales_by_product (
+    revenue numeric(14,2) not null,
+    product_id bigint not null,
+    units bigint not null,
+    primary key (product_id)
+);
+
+create index idx_sales_by_product_units
+    on sales_by_product (units);
+
+create table sales_daily (
+    revenue numeric(14,2) not null,
+    sales_date date not null,
+    order_count bigint not null,
+    units bigint not null,
+    primary key (sales_date)
+);
+
+create table orders_archive (
+    id bigint not null,
+    customer_name varchar(100) not null,
+    customer_email varchar(150) not null,
+    shipping_address varchar(200) not null,
+    status varchar(20) not null,
+    total_amount numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    archived_at timestamp(6) not null,
+    primary key (id, created_at)
+);
+
+create table order_items_archive (
+    id bigint not null,
+    order_id bigint not null,
+    order_created_at timestamp(6) not null,
+    product_id bigint not null,
+    product_name varchar(200),
+    category_id bigint,
+    quantity integer not null,
+    unit_price numeric(10,2) not null,
+    subtotal numeric(10,2) not null,
+    primary key (order_id, id, order_created_at)
+);
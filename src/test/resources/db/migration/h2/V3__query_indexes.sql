@@ -0,0 +1,22 @@
+-- H2 counterpart of db/migration/postgresql/V3. H2 cannot build expression, partial or
+-- GIN indexes, so the name prefix, search and low-stock indexes have no equivalent here.
+
+create index idx_orders_status_created_at on orders (status, created_at, id);
+
+create index idx_orders_customer_email_created_at on orders (customer_email, created_at, id);
+
+create index idx_orders_created_at on orders (created_at, id);
+
+create index idx_order_items_order_id on order_items (order_id);
+
+create index idx_order_items_product_id on order_items (product_id);
+
+create index idx_products_category_price on products (category_id, price);
+
+create index idx_products_price on products (price);
+
+create index idx_products_stock on products (stock);
+
+create index idx_products_created_at on products (created_at);
+
+create index idx_products_updated_at on products (updated_at);